@@ -23,14 +23,19 @@ package xyz.wfgilreath.net;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public final class Zing {
 
     // zing usage and example parameters from defaults defined in code
-    public static final String   ZING_USAGE = "Usage: zing -h | [-4|-6] [-c count] [-op ops] [-p ports] [-t timeout] host";
+    public static final String   ZING_USAGE = "Usage: zing -h | [-4|-6] [-c count] [-op ops] [-p ports] [-t timeout] [-w deadline] host";
     public static final String ZING_EXAMPLE = "zing -4 -c 4 -op 4 -p 80,443 -t 4000 google.com";
 
     public static InetAddress inet_addr = null; // network address name for hostname
@@ -43,6 +48,9 @@ public final class Zing {
     public static String hostAddr = "";         // result host address from DNS query
     public static boolean hostFlag = true;       // default is host is present, available
     public static int     limit    = 4;          // default limit on number of ops
+    public static int     deadline = 0;          // seconds the whole run may take as ping -w, 0 is no deadline
+    public static long    deadlineTime = Long.MAX_VALUE; // time in ms the deadline expires at
+    public static boolean deadlineFlag = false;  // set when the deadline expires, the run then stops
 
     /**
      * Private constructor to prevent instantiating this class except
@@ -93,6 +101,33 @@ public final class Zing {
         return null;
     }// end getIPv6Addr
 
+    /**
+     * Get the network address of the host before the deadline, the lookup is on a thread of its own as it cannot be
+     * interrupted.
+     *
+     * @param hostName - host name of computer system on a network.
+     * @return - return InetAddress, or null when the deadline expired first.
+     */
+    public static InetAddress getHostAddrNameBeforeDeadline(final String hostName) {
+
+        FutureTask<InetAddress> lookup = new FutureTask<>(() -> getHostAddrName(hostName));
+        Thread thread = new Thread(lookup, "zing-lookup");
+        thread.setDaemon(true);
+        thread.start();
+
+        try {
+            return lookup.get(Math.max(1L, deadlineTime - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException _ignore) {
+            deadlineFlag = true;
+            return null;
+        } catch (Exception _ignore) {
+            System.out.printf(".. Error: Cannot resolve %s: Unknown host.%n", host);
+            System.exit(1);
+            return null;
+        } // end try
+
+    }// end getHostAddrNameBeforeDeadline
+
     /**
      * Get InetAddress object containing TCP/IP data from a given host name.
      *
@@ -139,32 +174,32 @@ public final class Zing {
             inet_addr = getHostAddrName(host);
         } // end if
 
-        try {
-            if (inet_addr.isReachable(timeout)) { // command-line option -timeout
-                System.out.printf(".. Error: Host is unreachable.%n", host, inet_addr.getHostAddress());
-                System.exit(1);
-            } // end if
-
-        } catch (Exception _ignore) {
-            System.out.printf(".. Error: Host contact timeout.%n", host, inet_addr.getHostAddress());
-            System.exit(1);
-        } // end try
-
         boolean presentFlag = true; // host at socket is present, default is true
 
         long socketTimeStart = 0, socketTimeClose = 0, socketTimeTotal = 0;
 
+        // the connect is bounded by the time left before the deadline too, command-line option -w
+        long connectTimeout = Math.min(timeout, deadlineTime - System.currentTimeMillis());
+        if (deadlineFlag || connectTimeout <= 0) {
+            deadlineFlag = true;
+            return -1.0d;
+        } // end if
+
         try {
 
             socketTimeStart = System.currentTimeMillis();
 
-            Socket socket = new Socket(host, port);
-
-            socket.setSoTimeout(timeout);
+            // the connect itself is bounded by the timeout, command-line option -t
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(inet_addr, port), (int) connectTimeout);
+            } // end try
 
-            socket.close();
             socketTimeClose = System.currentTimeMillis();
         } catch (SocketTimeoutException _ignore) {
+            if (connectTimeout < timeout) {
+                deadlineFlag = true; // the op in flight is cancelled by the deadline
+                return -1.0d;
+            } // end if
             System.out.printf("Timed out after %d ms waiting for host.%n", timeout);
             presentFlag = false;
         } catch (Exception _ignore) {
@@ -251,6 +286,12 @@ public final class Zing {
                         idx++;
                         break;
 
+                    case "-w":
+                        deadline = Integer.valueOf(args[idx + 1]);
+                        if (deadline <= 0) throw new IllegalArgumentException(args[idx + 1]);
+                        idx++;
+                        break;
+
                     case "-h":
                         usage();
                         System.exit(0);
@@ -337,7 +378,12 @@ public final class Zing {
 
         processArgs(args);
 
-        inet_addr = getHostAddrName(host);
+        if (deadline > 0) {
+            deadlineTime = System.currentTimeMillis() + deadline * 1000L;
+            inet_addr = getHostAddrNameBeforeDeadline(host);
+        } else {
+            inet_addr = getHostAddrName(host);
+        } // end if
 
         System.out.printf("ZING: %s (%s): %d ports used, %d ops per cycle%n", 
                           hostName, hostAddr, ports.length,
@@ -346,8 +392,9 @@ public final class Zing {
         long timeZingStart = System.currentTimeMillis();
 
         double[] zingTimeTable = new double[count];
+        int cycles = 0; // cycles completed, fewer than count when the deadline expires
 
-        for (int x = 0; x < count; x++) {
+        for (int x = 0; x < count && !deadlineFlag; x++) {
 
             double zingTime = 0.0;
             double totalTime = 0.0;
@@ -363,11 +410,17 @@ public final class Zing {
                 } // end for(port)
             } // end for(limit)
 
+            if (deadlineFlag) { // an op of the cycle was cancelled, the cycle is not complete
+                System.out.println();
+                break;
+            } // end if
+
             System.out.print(".");
             double time = getTotalTime(totalTime, ports.length, limit);
 
             System.out.print(".");
             report(time); // time = -1.0d, absent, else active
+            cycles++;
 
         } // end for(count)
 
@@ -375,7 +428,7 @@ public final class Zing {
 
         //get min, max, avg
         double min = Double.MAX_VALUE, max = Double.MIN_VALUE, avg = 0.0;
-        for (int x = 0; x < count; x++) {
+        for (int x = 0; x < cycles; x++) {
 
             if (min > zingTimeTable[x]) {
                 min = zingTimeTable[x];
@@ -387,12 +440,20 @@ public final class Zing {
 
         }//end for
 
-        avg = avg / (double) count;
-
-        double std_dev = stddev(avg, zingTimeTable);
+        double std_dev = 0.0;
+        if (cycles > 0) {
+            avg = avg / (double) cycles;
+            std_dev = stddev(avg, Arrays.copyOf(zingTimeTable, cycles));
+        } else {
+            min = 0.0;
+            max = 0.0;
+        } // end if
 
         System.out.printf("%n--- zing summary for %s/%s ---%n", hostName, hostAddr);
-        System.out.printf("%d total ops used; total time: %d ms%n", (ports.length * limit * count), (timeZingClose - timeZingStart));
+        System.out.printf("%d total ops used; total time: %d ms%n", (ports.length * limit * cycles), (timeZingClose - timeZingStart));
+        if (deadlineFlag) {
+            System.out.printf("deadline of %d s expired after %d of %d cycles%n", deadline, cycles, count);
+        } // end if
 
         System.out.printf("total-time min/avg/max/stddev = %.3f/%.3f/%.3f/%.3f ms", min, avg, max, std_dev);
         System.out.printf("%n%n");
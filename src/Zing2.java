@@ -23,12 +23,24 @@ package xyz.wfgilreath.net;
 
 import static java.lang.System.*;
 
+import java.io.IOException;
+import java.io.PrintStream;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -36,7 +48,7 @@ import java.util.stream.Stream;
 final class Zing2 {
 
 
-    private static final String ZING_USAGE = "Usage: zing -h | [-4|-6] [-c count] [-op ops] [-p ports] [-t timeout] host";
+    private static final String ZING_USAGE = "Usage: zing -h | [-4|-6] [-c count] [-op ops] [-p ports] [-t timeout] [-w deadline] [-save name] [-cmp name] [-out file] [-hook cmd] [-events file] [-absent pct] [-j jobs] [-every secs] [-I addrs] [-hedge pct] [-cal|-sub] [-load rates [-ramp]] [-scan|-tls [-k]] host | unix:path | -f file | -rank|-best host... | -merge file... | -daemon";
     private static final String ZING_EXAMPLE = "zing -4 -c 4 -op 4 -p 80,443 -t 4000 google.com";
     private static final String FLAG_TCP_4 = "-4";
     private static final String FLAG_TCP_6 = "-6";
@@ -45,40 +57,296 @@ final class Zing2 {
     private static final String FLAG_PORTS = "-p";
     private static final String FLAG_TIMEOUT = "-t";
     private static final String FLAG_HELP = "-h";
+    private static final String FLAG_SCAN = "-scan";
+    private static final String FLAG_TLS = "-tls";
+    private static final String FLAG_INSECURE = "-k";
+    private static final String FLAG_SAVE = "-save";
+    private static final String FLAG_COMPARE = "-cmp";
+    private static final String FLAG_HOOK = "-hook";
+    private static final String FLAG_EVENTS = "-events";
+    private static final String FLAG_ABSENT = "-absent";
+    private static final String FLAG_FILE = "-f";
+    private static final String FLAG_JOBS = "-j";
+    private static final String FLAG_INTERFACES = "-I";
+    private static final String FLAG_HEDGE = "-hedge";
+    private static final String FLAG_RANK = "-rank";
+    private static final String FLAG_BEST = "-best";
+    private static final String FLAG_EVERY = "-every";
+    private static final String FLAG_CALIBRATE = "-cal";
+    private static final String FLAG_SUBTRACT = "-sub";
+    private static final String FLAG_LOAD = "-load";
+    private static final String FLAG_RAMP = "-ramp";
+    private static final String FLAG_OUT = "-out";
+    private static final String FLAG_MERGE = "-merge";
+    private static final String FLAG_DEADLINE = "-w";
+    private static final String FLAG_DAEMON = "-daemon";
+    private static final String STDIN = "-";    // target list file name of stdin
+
+    // flags followed by a value, the value is never taken as the host
+    private static final Set<String> VALUE_FLAGS = Set.of(FLAG_COUNT, FLAG_LIMIT, FLAG_PORTS, FLAG_TIMEOUT,
+            FLAG_SAVE, FLAG_COMPARE, FLAG_HOOK, FLAG_EVENTS, FLAG_ABSENT, FLAG_FILE, FLAG_JOBS, FLAG_INTERFACES, FLAG_HEDGE,
+            FLAG_EVERY, FLAG_LOAD, FLAG_OUT, FLAG_DEADLINE);
+
+    // flags followed by a file, a relative file is only found by a daemon running in the same directory
+    private static final Set<String> FILE_FLAGS = Set.of(FLAG_FILE, FLAG_OUT, FLAG_EVENTS, FLAG_SAVE, FLAG_COMPARE);
+
+    private int timeout = 4000; // default socket time 4000 ms = 4-seconds
+    private int count = 4;    // default count of times to perform ops
+    private Integer[] ports = new Integer[]{80, 443}; // default ports http, https
+    private String host = "localhost";// default host name is localhost or 127.0.0.1
+    private String hostAddr = "";         // result host address from DNS query
+    private boolean hostFlag = true;       // default is host is present, available
+    private int limit = 4;          // default limit on number of ops
+    private boolean scanFlag = false;     // default is zing, not a port-range scan
+    private boolean tlsFlag = false;      // default is zing with TCP connect only, no TLS handshake
+    private boolean insecureFlag = false; // default is verify the TLS certificate of the host
+    private String saveName = null;       // baseline to save the zing times of this run as
+    private String compareName = null;    // baseline to compare the zing times of this run with
+    private ZingStats samples = new ZingStats(); // every zing time of this run
+    private String hookCommand = null;    // command run on each change-point event
+    private String eventsFile = null;     // file each change-point event is appended to
+    private int absentPercent = 50;       // absent rate in percent that is a change-point event
+    private ZingDetector detector = null; // change-point detection, only with a hook or events file
+    private String targetsFile = null;    // file of target hosts to zing instead of one host
+    private int jobs = 32;                // targets resolved and zinged at the same time
+    private String interfaces = null;     // local addresses or interfaces to zing from, else any
+    private double hedgePercentile = 0.0; // percentile of recent times to fire a hedge connect at, 0 is off
+    private boolean rankFlag = false;     // default is zing one host, not rank candidate hosts
+    private boolean bestFlag = false;     // report only the fastest candidate host when ranking
+    private double everySeconds = 0.0;    // default seconds between zings of a resident target list, 0 is off
+    private boolean calibrateFlag = false; // default is no calibration of the overhead of zing itself
+    private boolean subtractFlag = false;  // subtract the calibrated overhead from each zing time
+    private ZingCalibration calibration = null; // calibration figures, only with -cal or -sub
+    private int[] loadProfile = null;     // connect rates from, to, by of a load test, null is off
+    private boolean rampFlag = false;     // ramp the load test rate, else hold each step
+    private String outFile = null;        // file the mergeable summary of this run is saved to
+    private ZingSummary summary = null;   // mergeable summary of the zing times, only with an out file
+    private ZingUnix unix = null;         // prober of a unix: host, which is zinged without ports
+    private boolean mergeFlag = false;    // default is zing, not merge the summary files given
+    private int deadline = 0;             // seconds the whole run may take as ping -w, 0 is no deadline
+    private volatile boolean deadlineFlag = false; // set when the deadline expires, the run then stops
+    private volatile Socket inFlight = null;       // socket of the zing op in flight, closed at the deadline
+    private Thread deadlineTimer = null;  // timer of the deadline, stopped when a run served by the daemon ends
+    private ExecutorService lookups = null; // thread of the host lookups under a deadline, which can abandon one
+    private volatile Future<InetAddress> lookupInFlight = null; // lookup in flight, cancelled at the deadline
+    private int opsUsed = 0;              // zing ops completed, fewer than planned when the deadline expires
+    private int zingCycles = 0;           // zing cycles completed
+    private int absentCycles = 0;         // zing cycles with the host absent, only counted when zing keeps on
+    private final List<String> hosts = new ArrayList<>(); // every host given, the candidates to rank
+    private boolean daemonFlag = false;   // default is zing, not serve the zing runs of clients as a daemon
+    private volatile boolean abortFlag = false; // set when the client of a run served by the daemon is gone
+
+    private boolean tcp4Flag = true; // default tcp4 ip-address
+    private String hostName = "";         // result host name from DNS query
+
+    private final PrintStream out;        // stdout of the run, sent back to the client when served by the daemon
+    private final PrintStream err;        // stderr of the run, sent back to the client when served by the daemon
+    private final ZingDaemon.Client client; // client of a run served by the daemon, where exit ends only the run
+
+    private Zing2(final PrintStream out, final PrintStream err, final ZingDaemon.Client client) {
+        this.out = out;
+        this.err = err;
+        this.client = client;
+    }
 
-    private static int timeout = 4000; // default socket time 4000 ms = 4-seconds
-    private static int count = 4;    // default count of times to perform ops
-    private static Integer[] ports = new Integer[]{80, 443}; // default ports http, https
-    private static String host = "localhost";// default host name is localhost or 127.0.0.1
-    private static String hostAddr = "";         // result host address from DNS query
-    private static boolean hostFlag = true;       // default is host is present, available
-    private static int limit = 4;          // default limit on number of ops
+    public static void main(final String[] args) {
 
-    static boolean tcp4Flag = true; // default tcp4 ip-address
-    static String hostName = "";         // result host name from DNS query
+        Zing2 zing = new Zing2(System.out, System.err, null);
 
-    private Zing2() {}
+        if (args.length == 0) zing.logUsageAndQuit();
 
-    public static void main(final String[] args) {
+        // a run is forwarded to the daemon when one is listening, else it is done in-process
+        if (isForwarded(args)) {
+            int status = ZingDaemon.forward(args);
+            if (status != ZingDaemon.NONE) System.exit(status);
+        }
+
+        zing.zing(args);
+    }
 
-        if (args.length == 0) logUsageAndQuit();
+    private void zing(final String[] args) {
 
         processArgs(args);
 
+        if (deadline > 0 && (daemonFlag || mergeFlag || targetsFile != null || rankFlag || bestFlag || scanFlag
+                || tlsFlag || interfaces != null || hedgePercentile > 0.0 || loadProfile != null)) {
+            out.printf(".. Error: -w is a deadline of the cycles of one host, not of -f, -rank, -best, -scan, -tls, "
+                    + "-I, -hedge, -load, -merge or -daemon%n");
+            exit(1);
+        }
+
+        checkModeOptions();
+
+        if (daemonFlag) daemonAndQuit();
+        if (mergeFlag) mergeAndQuit();
+        if (outFile != null) summary = new ZingSummary();
+        if (ZingUnix.isUnix(host)) openUnix();
+        if (STDIN.equals(targetsFile)) streamAndQuit();
+        if (targetsFile != null && everySeconds > 0.0) residentAndQuit();
+        if (targetsFile != null) bulkAndQuit();
+        if (rankFlag || bestFlag) rankAndQuit();
+        if (scanFlag) scanAndQuit();
+        if (tlsFlag) tlsAndQuit();
+        if (interfaces != null) pathsAndQuit();
+        if (hedgePercentile > 0.0) hedgeAndQuit();
+        if (loadProfile != null) loadAndQuit();
+
+        if (hookCommand != null || eventsFile != null) {
+            detector = new ZingDetector(hookCommand, eventsFile, absentPercent / 100.0d, err, client);
+        }
+
+        if (deadline > 0) startDeadline();
+
+        if (calibrateFlag || subtractFlag) calibrate();
+
         logInitialInfo();
 
         long timeZingStart = currentTimeMillis();
 
         double[] zingTimeTable = new double[count];
 
-        IntStream.range(0, count).forEach(index -> executeCall(index, zingTimeTable));
+        int cycles = 0;
+        while (cycles < count && executeCall(cycles, zingTimeTable)) cycles++;
 
         long timeZingClose = currentTimeMillis();
 
-        countStatsAndQuit(zingTimeTable, timeZingStart, timeZingClose);
+        countStatsAndQuit(Arrays.copyOf(zingTimeTable, cycles), timeZingStart, timeZingClose);
     }
 
-    private static void processArgs(final String[] args) {
+    /**
+     * Check the options of the cycles of one host are given only to such a run, as any other mode would ignore them,
+     * but for -out, which also saves the summary of -f and of -merge.
+     */
+    private void checkModeOptions() {
+
+        String mode = daemonFlag ? FLAG_DAEMON : mergeFlag ? FLAG_MERGE : STDIN.equals(targetsFile) ? FLAG_FILE + " "
+                + STDIN : targetsFile != null && everySeconds > 0.0 ? FLAG_EVERY : targetsFile != null ? FLAG_FILE
+                : rankFlag ? FLAG_RANK : bestFlag ? FLAG_BEST : scanFlag ? FLAG_SCAN : tlsFlag ? FLAG_TLS
+                : interfaces != null ? FLAG_INTERFACES : hedgePercentile > 0.0 ? FLAG_HEDGE
+                : loadProfile != null ? FLAG_LOAD : null;
+
+        if (mode == null) {
+            if (everySeconds > 0.0) {
+                out.printf(".. Error: -every is the interval of a resident -f target list, not of one host%n");
+                exit(1);
+            }
+            return;
+        }
+
+        List<String> ignored = new ArrayList<>();
+        if (saveName != null) ignored.add(FLAG_SAVE);
+        if (compareName != null) ignored.add(FLAG_COMPARE);
+        if (hookCommand != null) ignored.add(FLAG_HOOK);
+        if (eventsFile != null) ignored.add(FLAG_EVENTS);
+        if (calibrateFlag) ignored.add(FLAG_CALIBRATE);
+        if (subtractFlag) ignored.add(FLAG_SUBTRACT);
+        if (outFile != null && !mode.equals(FLAG_FILE) && !mode.equals(FLAG_MERGE)) ignored.add(FLAG_OUT);
+
+        if (!ignored.isEmpty()) {
+            out.printf(".. Error: %s %s of the cycles of one host, not of %s%n", String.join(", ", ignored),
+                    ignored.size() == 1 ? "is an option" : "are options", mode);
+            exit(1);
+        }
+    }
+
+    /**
+     * Check a run can be forwarded to the daemon, it is not one that reads stdin, runs until interrupted or is the
+     * daemon itself.
+     */
+    private static boolean isForwarded(final String[] args) {
+        for (int x = 0; x < args.length; x++) {
+            if (args[x].equals(FLAG_DAEMON) || args[x].equals(FLAG_EVERY)) return false;
+            if (args[x].equals(FLAG_FILE) && x + 1 < args.length && args[x + 1].equals(STDIN)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check the arguments for a relative file: the value of a file flag, a summary file to merge or the path of a
+     * Unix domain socket. A baseline name without a path is not a file.
+     */
+    private static boolean hasRelativePaths(final String[] args) {
+
+        boolean merge = Arrays.asList(args).contains(FLAG_MERGE);
+
+        for (int x = 0; x < args.length; x++) {
+            boolean value = x > 0 && VALUE_FLAGS.contains(args[x - 1]);
+            String path = null;
+            if (value && (args[x - 1].equals(FLAG_SAVE) || args[x - 1].equals(FLAG_COMPARE))) {
+                path = ZingBaseline.pathOf(args[x]).toString();
+            } else if (value && FILE_FLAGS.contains(args[x - 1])) {
+                path = args[x];
+            } else if (!value && ZingUnix.isUnix(args[x])) {
+                path = args[x].substring(ZingUnix.SCHEME.length());
+            } else if (!value && merge && !args[x].startsWith("-")) {
+                path = args[x];
+            }
+            if (path != null && !Paths.get(path).isAbsolute()) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Check the daemon can serve a run as the client would do it, a run that is forwarded and has no relative file
+     * or is from the directory of the daemon. Checked by the daemon, so a thin client forwards every run.
+     */
+    private static boolean serves(final String[] args, final boolean sameDir) {
+        return isForwarded(args) && (sameDir || !hasRelativePaths(args));
+    }
+
+    /**
+     * Do a run served by the daemon, with the defaults of every option as a run of a JVM of its own, its output sent
+     * back to its client, and stopped when its client is gone.
+     *
+     * @return exit status of the run.
+     */
+    private static int serve(final String[] args, final ZingDaemon.Client client) {
+
+        Zing2 zing = new Zing2(client.out(), client.err(), client);
+        client.whenGone(zing::abort);
+
+        try {
+            zing.zing(args);
+            return 0;
+        } catch (ZingDaemon.Exit e) {
+            return e.status;
+        } catch (RuntimeException e) {
+            e.printStackTrace(zing.err);
+            return 1;
+        } finally {
+            if (zing.deadlineTimer != null) zing.deadlineTimer.interrupt();
+            if (zing.lookups != null) zing.lookups.shutdownNow();
+            if (zing.detector != null) zing.detector.close(0L); // the hooks queued are still run, the JVM goes on
+            zing.closeUnix();
+        }
+    }
+
+    /**
+     * Stop a run served by the daemon when its client is gone, as the deadline stops a run, with the op in flight
+     * cancelled.
+     */
+    private void abort() {
+        abortFlag = true;
+        cancelInFlight();
+    }
+
+    /**
+     * Check the run is to stop, its deadline expired or its client is gone.
+     */
+    private boolean stopped() {
+        return deadlineFlag || abortFlag;
+    }
+
+    /**
+     * Exit the JVM, or in the daemon end the run being served with the status.
+     */
+    private void exit(final int status) {
+        if (client != null) throw new ZingDaemon.Exit(status);
+        System.exit(status);
+    }
+
+    private void processArgs(final String[] args) {
         try {
             IntStream.range(0, args.length).forEach(index -> delegate(args, index));
         } catch (Exception e) {
@@ -86,7 +354,7 @@ final class Zing2 {
         }
     }
 
-    private static void delegate(String[] args, int index) {
+    private void delegate(String[] args, int index) {
         switch (args[index]) {
             case FLAG_TCP_4 -> setTcp4Flag(true);
             case FLAG_TCP_6 -> setTcp4Flag(false);
@@ -95,21 +363,59 @@ final class Zing2 {
             case FLAG_PORTS -> setPorts(args, index);
             case FLAG_TIMEOUT -> setTimeout(args, index);
             case FLAG_HELP -> logUsageAndQuit();
+            case FLAG_SCAN -> setScanFlag(true);
+            case FLAG_TLS -> setTlsFlag(true);
+            case FLAG_INSECURE -> setInsecureFlag(true);
+            case FLAG_SAVE -> setSaveName(args, index);
+            case FLAG_COMPARE -> setCompareName(args, index);
+            case FLAG_HOOK -> setHookCommand(args, index);
+            case FLAG_EVENTS -> setEventsFile(args, index);
+            case FLAG_ABSENT -> setAbsentPercent(args, index);
+            case FLAG_FILE -> setTargetsFile(args, index);
+            case FLAG_JOBS -> setJobs(args, index);
+            case FLAG_INTERFACES -> setInterfaces(args, index);
+            case FLAG_HEDGE -> setHedgePercentile(args, index);
+            case FLAG_RANK -> setRankFlag(true);
+            case FLAG_BEST -> setBestFlag(true);
+            case FLAG_EVERY -> setEverySeconds(args, index);
+            case FLAG_CALIBRATE -> setCalibrateFlag(true);
+            case FLAG_SUBTRACT -> setSubtractFlag(true);
+            case FLAG_LOAD -> setLoadProfile(args, index);
+            case FLAG_RAMP -> setRampFlag(true);
+            case FLAG_OUT -> setOutFile(args, index);
+            case FLAG_MERGE -> setMergeFlag(true);
+            case FLAG_DEADLINE -> setDeadline(args, index);
+            case FLAG_DAEMON -> setDaemonFlag(true);
             default -> setHost(args, index);
         }
     }
 
-    private static void executeCall(int indexOfCall, double[] zingTimeTable) {
+    /**
+     * Zing the host for one cycle and report it.
+     *
+     * @return true when the cycle completed, false when the deadline expired during it.
+     */
+    private boolean executeCall(int indexOfCall, double[] zingTimeTable) {
         double zingTime;
         double totalTime = 0.0;
 
+        if (stopped()) return false;
+
         out.printf("#%d ", indexOfCall + 1);
         out.print(".");
 
         for (int y = 0; y < limit; y++) {
             for (int port : ports) {
-                zingTime = doZingToHost(host, port);
+                zingTime = unix != null ? doZingToUnix() : doZingToHost(host, port);
+                if (stopped()) { // the op in flight was cancelled, the cycle is not complete
+                    out.println();
+                    return false;
+                }
+                opsUsed++;
                 zingTimeTable[indexOfCall] = zingTime;
+                if (zingTime >= 0.0d) samples.add(zingTime);
+                if (summary != null) summary.record(target(port), zingTime);
+                if (detector != null) detector.observe(target(port), zingTime);
                 totalTime += zingTime;
             }
         }
@@ -119,14 +425,221 @@ final class Zing2 {
 
         out.print(".");
         report(time); // time = -1.0d, absent, else active
+        return true;
+    }
+
+    private void daemonAndQuit() {
+
+        try {
+            ZingDaemon.serve(Zing2::serves, Zing2::serve);
+        } catch (Exception e) {
+            out.printf(".. Error: Cannot serve as the zing daemon: %s%n", e.getMessage());
+            exit(1);
+        }
+    }
+
+    private void bulkAndQuit() {
+
+        try {
+            new ZingBulk(ports, count, limit, timeout, jobs, tcp4Flag, summary, out)
+                    .zing(targetsFile);
+        } catch (Exception e) {
+            out.printf(".. Error: Cannot zing targets from %s: %s%n", targetsFile, e.getMessage());
+            exit(1);
+        }
+
+        if (outFile != null) saveSummary();
+        exit(0);
+    }
+
+    private void streamAndQuit() {
+
+        try {
+            new ZingStream(ports, count, limit, timeout, jobs, tcp4Flag).zing(in, out);
+        } catch (Exception e) {
+            err.printf(".. Error: Cannot zing targets from stdin: %s%n", e.getMessage());
+            exit(1);
+        }
+
+        exit(0);
+    }
+
+    private void residentAndQuit() {
+
+        try {
+            new ZingResident(ports, timeout, jobs, tcp4Flag, everySeconds).zing(targetsFile);
+        } catch (Exception e) {
+            out.printf(".. Error: Cannot zing targets from %s: %s%n", targetsFile, e.getMessage());
+            exit(1);
+        }
+
+        exit(0);
+    }
+
+    private void rankAndQuit() {
+
+        List<ZingRank.Candidate> ranked = null;
+
+        try {
+            ranked = new ZingRank(ports, count, limit, timeout, jobs, tcp4Flag, out).rank(hosts, !bestFlag);
+        } catch (Exception e) {
+            out.printf(".. Error: Cannot rank %s: %s%n", hosts, e.getMessage());
+            exit(1);
+        }
+
+        if (ranked.isEmpty() || ranked.get(0).times.size() == 0) {
+            out.println(".. Error: No candidate host is active.");
+            exit(1);
+        }
+
+        if (bestFlag) out.println(ranked.get(0).host);
+
+        exit(0);
+    }
+
+    /**
+     * Zing a unix: host in the cycles of the run, as a TCP host on one port, so every option of a cycled run applies.
+     */
+    private void openUnix() {
+
+        if (targetsFile != null || rankFlag || bestFlag || scanFlag || tlsFlag || interfaces != null
+                || hedgePercentile > 0.0 || loadProfile != null) {
+            out.printf(".. Error: A unix: host is only zinged in cycles, not with -f, -rank, -best, -scan, -tls, -I, "
+                    + "-hedge or -load%n");
+            exit(1);
+        }
+        if (calibrateFlag || subtractFlag) {
+            out.printf(".. Error: -cal and -sub calibrate a TCP connect, not one of a unix: host%n");
+            exit(1);
+        }
+
+        try {
+            unix = new ZingUnix(host, timeout);
+        } catch (IOException e) {
+            out.printf(".. Error: Zing of %s failed: %s%n", host, e.getMessage());
+            exit(1);
+        }
+
+        hostName = host;
+        hostAddr = ZingUnix.path(host);
+        ports = new Integer[]{0}; // a cycle is the limit of ops on the socket
     }
 
-    private static void countStatsAndQuit(double[] zingTimeTable, long timeZingStart, long timeZingClose) {
+    private void closeUnix() {
+        if (unix == null) return;
+        try {
+            unix.close();
+        } catch (IOException e) {
+            // nothing to recover, the selector is released either way
+        }
+    }
+
+    private double doZingToUnix() {
+        double time = unix.connect();
+        if (time < 0.0d) out.print(".");
+        return time;
+    }
+
+    /**
+     * Get the target a zing time of a port is recorded for, host:port or the unix: host.
+     */
+    private String target(final int port) {
+        return unix != null ? host : host + ":" + port;
+    }
+
+    private void scanAndQuit() {
+
+        InetAddress inetAddr = getHostAddrName(host);
+
+        try {
+            new ZingScan(inetAddr, ports, timeout, out).scan(hostName);
+        } catch (Exception e) {
+            out.printf(".. Error: Scan of %s failed: %s%n", host, e.getMessage());
+            exit(1);
+        }
+
+        exit(0);
+    }
+
+    private void tlsAndQuit() {
+
+        InetAddress inetAddr = getHostAddrName(host);
+
+        try {
+            new ZingTls(insecureFlag, timeout, out).zing(inetAddr, host, hostName, ports, count, limit);
+        } catch (Exception e) {
+            out.printf(".. Error: TLS to %s failed: %s%n", host, e.getMessage());
+            exit(1);
+        }
+
+        exit(0);
+    }
+
+    private void pathsAndQuit() {
+
+        InetAddress inetAddr = getHostAddrName(host);
+
+        try {
+            new ZingPaths(ZingPaths.parsePaths(interfaces, tcp4Flag), ports, count, limit, timeout, out)
+                    .zing(inetAddr, hostName);
+        } catch (Exception e) {
+            out.printf(".. Error: Cannot zing %s over %s: %s%n", host, interfaces, e.getMessage());
+            exit(1);
+        }
+
+        exit(0);
+    }
 
-        double min = DoubleStream.of(zingTimeTable).min().orElse(Double.MAX_VALUE);
-        double max = DoubleStream.of(zingTimeTable).max().orElse(Double.MIN_VALUE);
-        double avg = DoubleStream.of(zingTimeTable).average().orElse(0.0);
-        double stdDev = stddev(avg, zingTimeTable);
+    private void hedgeAndQuit() {
+
+        InetAddress inetAddr = getHostAddrName(host);
+
+        try {
+            new ZingHedge(hedgePercentile, timeout, out).zing(inetAddr, hostName, ports, count, limit);
+        } catch (Exception e) {
+            out.printf(".. Error: Hedged zing of %s failed: %s%n", host, e.getMessage());
+            exit(1);
+        }
+
+        exit(0);
+    }
+
+    private void calibrate() {
+
+        calibration = new ZingCalibration(subtractFlag);
+
+        try {
+            calibration.calibrate(this::timeConnect, tcp4Flag);
+        } catch (Exception e) {
+            out.printf(".. Error: Calibration on the loopback address failed: %s%n", e.getMessage());
+            exit(1);
+        }
+    }
+
+    private void loadAndQuit() {
+
+        InetAddress inetAddr = getHostAddrName(host);
+
+        try {
+            new ZingLoad(inetAddr, ports, timeout, count, rampFlag, out).load(hostName, loadProfile);
+        } catch (Exception e) {
+            out.printf(".. Error: Load test of %s failed: %s%n", host, e.getMessage());
+            exit(1);
+        }
+
+        exit(0);
+    }
+
+    private void countStatsAndQuit(double[] zingTimeTable, long timeZingStart, long timeZingClose) {
+
+        zingCycles = zingTimeTable.length;
+
+        // no cycle completes when the deadline expires during the first one, and an absent cycle has no time
+        double[] present = DoubleStream.of(zingTimeTable).filter(time -> time >= 0.0d).toArray();
+        double min = DoubleStream.of(present).min().orElse(0.0);
+        double max = DoubleStream.of(present).max().orElse(0.0);
+        double avg = DoubleStream.of(present).average().orElse(0.0);
+        double stdDev = present.length > 0 ? stddev(avg, present) : 0.0;
 
         logStatsAndQuit(timeZingStart, timeZingClose, min, avg, max, stdDev);
     }
@@ -161,23 +674,24 @@ final class Zing2 {
      * @param hostName - host name of computer system on a network.
      * @return - return InetAddress which is either TCP/IP-4 or TCP/IP-6 address.
      */
-    private static InetAddress getHostAddrName(final String hostName) {
+    private InetAddress getHostAddrName(final String hostName) {
 
         InetAddress iaddr = null;
 
         try {
 
-            iaddr = Zing2.tcp4Flag ? Zing2.getIPv4Addr(hostName) : Zing2.getIPv6Addr(hostName);
+            iaddr = lookup(hostName);
 
             if (hostFlag && iaddr != null) {
-                Zing2.hostName = iaddr.getHostName();
-                Zing2.hostAddr = iaddr.getHostAddress();
-                Zing2.hostFlag = false;
+                this.hostName = iaddr.getHostName();
+                this.hostAddr = iaddr.getHostAddress();
+                this.hostFlag = false;
             }
 
             if (iaddr == null) logHostErrorAndQuit();
 
         } catch (Exception e) {
+            if (stopped()) return null; // the deadline expired or the client is gone during the lookup
             out.printf(".. Error: Cannot resolve %s: Unknown host.%n", host);
             exit(1);
         }
@@ -185,6 +699,25 @@ final class Zing2 {
         return iaddr;
     }
 
+    /**
+     * Look up the address of a host. Under a deadline the lookup is on a thread of its own, as a lookup cannot be
+     * interrupted, so the deadline timer can abandon one that has not returned.
+     */
+    private InetAddress lookup(final String hostName) throws Exception {
+
+        if (lookups == null) return tcp4Flag ? getIPv4Addr(hostName) : getIPv6Addr(hostName);
+
+        Future<InetAddress> lookup = lookups.submit(() -> tcp4Flag ? getIPv4Addr(hostName) : getIPv6Addr(hostName));
+        lookupInFlight = lookup;
+        if (stopped()) lookup.cancel(false); // the run stopped before the lookup was in flight
+
+        try {
+            return lookup.get();
+        } finally {
+            lookupInFlight = null;
+        }
+    }
+
     /**
      * Zing a given host on the network at a specific port on the host.
      *
@@ -192,35 +725,18 @@ final class Zing2 {
      * @param port - port on the computer system on a network.
      * @return double - total socket time to zing computer system or -1.0d for not available.
      */
-    private static double doZingToHost(final String host, final int port) {
+    private double doZingToHost(final String host, final int port) {
 
         InetAddress inetAddr = getHostAddrName(host);
-
-        try {
-            if (inetAddr.isReachable(timeout)) { // command-line option -timeout
-                out.printf(".. Error: Host %s %s unreachable.%n", host, inetAddr.getHostAddress());
-                exit(1);
-            } // end if
-
-        } catch (Exception e) {
-            out.printf(".. Error: Host %s %s contact timeout.%n", host, inetAddr.getHostAddress());
-            exit(1);
-        }
+        if (inetAddr == null) return -1.0d; // the deadline expired during the lookup
 
         boolean presentFlag = true;
 
-        long socketTimeStart = 0;
-        long socketTimeClose = 0;
-        long socketTimeTotal = 0;
+        double socketTimeTotal = 0.0d;
 
         try {
 
-            socketTimeStart = currentTimeMillis();
-
-            try (Socket socket = new Socket(host, port)) {
-                socket.setSoTimeout(timeout);
-            }
-            socketTimeClose = currentTimeMillis();
+            socketTimeTotal = timeConnect(inetAddr, port);
 
         } catch (SocketTimeoutException e) {
             out.printf("Timed out after %d ms waiting for host.%n", timeout);
@@ -229,15 +745,79 @@ final class Zing2 {
             presentFlag = false;
         }
 
-        if (presentFlag) {
-            socketTimeTotal = socketTimeTotal + (socketTimeClose - socketTimeStart);
-        } else {
+        if (!presentFlag) {
             out.print(".");
             return -1.0d;
         }
 
-        return socketTimeTotal;
+        return calibration != null ? calibration.correct(socketTimeTotal) : socketTimeTotal;
+
+    }
+
+    /**
+     * Time the socket connect and close of a zing op in ms, the op calibration also times to the loopback listener.
+     */
+    private double timeConnect(final InetAddress inetAddr, final int port) throws IOException {
+
+        long socketTimeStart = nanoTime();
+
+        try (Socket socket = new Socket()) {
+            inFlight = socket;
+            if (stopped()) throw new SocketException("Zing stopped");
+            socket.connect(new InetSocketAddress(inetAddr, port), timeout); // command-line option -t
+        } finally {
+            inFlight = null;
+        }
+
+        return (nanoTime() - socketTimeStart) / 1_000_000.0d;
+    }
+
+    /**
+     * Start the timer of the deadline, that stops the run and cancels the zing op in flight by closing its socket, or
+     * abandons the host lookup in flight.
+     */
+    private void startDeadline() {
+
+        lookups = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "zing-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        deadlineTimer = new Thread(() -> {
+            try {
+                Thread.sleep(deadline * 1000L);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            deadlineFlag = true;
+            cancelInFlight();
+        }, "zing-deadline");
+
+        deadlineTimer.setDaemon(true);
+        deadlineTimer.start();
+    }
 
+    /**
+     * Cancel the zing op in flight by closing its socket, or abandon the host lookup in flight, once the run stops.
+     */
+    private void cancelInFlight() {
+
+        Future<InetAddress> lookup = lookupInFlight;
+        if (lookup != null) lookup.cancel(false);
+
+        ZingUnix unixInFlight = unix;
+        if (unixInFlight != null) unixInFlight.cancel();
+
+        Socket socket = inFlight;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // the connect fails either way once its socket is closed
+            }
+        }
     }
 
     /**
@@ -257,9 +837,9 @@ final class Zing2 {
      *
      * @param time - overall time to zing the host computer system on the network.
      */
-    private static void report(final double time) {
+    private void report(final double time) {
 
-        out.printf(" %d ops to %s (%s): ", limit * ports.length, hostName, hostAddr);
+        out.printf(" %d ops to %s: ", limit * ports.length, unix != null ? host : hostName + " (" + hostAddr + ")");
 
         //if time == -1.0 no timing statistics, unable to zing host computer system
         if (time >= 0.0d) {
@@ -267,11 +847,21 @@ final class Zing2 {
             out.printf("time = %,.3f ms%n", time);
         } else {
             out.println("Absent!");
-            exit(0);
+            if (!keepsCyclingWhenAbsent()) exit(0);
+            absentCycles++;
         }
 
     }
 
+    /**
+     * Check the run goes on after an absent cycle to its summary, as the absent host is a result of the run for a
+     * baseline to save or compare with, a summary to save, and for the detector to signal and then see the host come
+     * back.
+     */
+    private boolean keepsCyclingWhenAbsent() {
+        return saveName != null || compareName != null || summary != null || detector != null;
+    }
+
     /**
      * Calculate the standard deviation using the average time and the table of zing times.Standard deviation is the
      * statistical measure of variability.
@@ -292,78 +882,258 @@ final class Zing2 {
 
     }
 
-    private static void setTcp4Flag(boolean flag) {
+    private void setTcp4Flag(boolean flag) {
         tcp4Flag = flag;
     }
 
-    private static void setCount(String[] args, int index) {
+    private void setScanFlag(boolean flag) {
+        scanFlag = flag;
+    }
+
+    private void setTlsFlag(boolean flag) {
+        tlsFlag = flag;
+    }
+
+    private void setInsecureFlag(boolean flag) {
+        insecureFlag = flag;
+    }
+
+    private void setSaveName(String[] args, int index) {
+        saveName = args[index + 1];
+    }
+
+    private void setCompareName(String[] args, int index) {
+        compareName = args[index + 1];
+    }
+
+    private void setHookCommand(String[] args, int index) {
+        hookCommand = args[index + 1];
+    }
+
+    private void setEventsFile(String[] args, int index) {
+        eventsFile = args[index + 1];
+    }
+
+    private void setAbsentPercent(String[] args, int index) {
+        absentPercent = parseArgValueToInt(args, index);
+    }
+
+    private void setTargetsFile(String[] args, int index) {
+        targetsFile = args[index + 1];
+    }
+
+    private void setJobs(String[] args, int index) {
+        jobs = parseArgValueToInt(args, index);
+    }
+
+    private void setInterfaces(String[] args, int index) {
+        interfaces = args[index + 1];
+    }
+
+    private void setHedgePercentile(String[] args, int index) {
+        hedgePercentile = Double.parseDouble(args[index + 1]);
+        if (hedgePercentile <= 0.0 || hedgePercentile > 100.0) throw new IllegalArgumentException(args[index + 1]);
+    }
+
+    private void setRankFlag(boolean flag) {
+        rankFlag = flag;
+    }
+
+    private void setBestFlag(boolean flag) {
+        bestFlag = flag;
+    }
+
+    private void setEverySeconds(String[] args, int index) {
+        everySeconds = Double.parseDouble(args[index + 1]);
+        if (everySeconds <= 0.0) throw new IllegalArgumentException(args[index + 1]);
+    }
+
+    private void setCalibrateFlag(boolean flag) {
+        calibrateFlag = flag;
+    }
+
+    private void setSubtractFlag(boolean flag) {
+        subtractFlag = flag;
+    }
+
+    private void setLoadProfile(String[] args, int index) {
+        loadProfile = ZingLoad.parseProfile(args[index + 1]);
+    }
+
+    private void setRampFlag(boolean flag) {
+        rampFlag = flag;
+    }
+
+    private void setOutFile(String[] args, int index) {
+        outFile = args[index + 1];
+    }
+
+    private void setMergeFlag(boolean flag) {
+        mergeFlag = flag;
+    }
+
+    private void setDaemonFlag(boolean flag) {
+        daemonFlag = flag;
+    }
+
+    private void setDeadline(String[] args, int index) {
+        deadline = parseArgValueToInt(args, index);
+        if (deadline <= 0) throw new IllegalArgumentException(args[index + 1]);
+    }
+
+    private void setCount(String[] args, int index) {
         count = parseArgValueToInt(args, index);
     }
 
-    private static void setLimit(String[] args, int index) {
+    private void setLimit(String[] args, int index) {
         limit = parseArgValueToInt(args, index);
     }
 
-    private static void setTimeout(String[] args, int index) {
+    private void setTimeout(String[] args, int index) {
         timeout = parseArgValueToInt(args, index);
     }
 
-    private static void setHost(String[] args, int index) {
+    private void setHost(String[] args, int index) {
         // check if arg has "-" at char[0], if so log error invalid command-line parameter
         var arg = args[index];
-        if (arg.charAt(0) == '-') logInvalidParamAndQuit(arg);
         // do not temporarily assign flag's value as host, it should remain localhost until valid host passed
-        if (index > 0 && args[index - 1].charAt(0) == '-') return;
+        if (index > 0 && VALUE_FLAGS.contains(args[index - 1])) return;
+        if (arg.charAt(0) == '-') logInvalidParamAndQuit(arg);
         host = arg;
+        hosts.add(arg);
     }
 
-    private static void setPorts(String[] args, int idx) {
-        String[] tmpPorts = args[idx + 1].split(",");
-        ports = new Integer[tmpPorts.length];
-        for (int x = 0; x < tmpPorts.length; x++) {
-            ports[x] = Integer.valueOf(tmpPorts[x]); // trim any spaces for a , b , c ??
-        }
+    /**
+     * Set the ports from a comma delimited list of ports and inclusive port ranges, such as 22,80,8000-9000.
+     */
+    private void setPorts(String[] args, int idx) {
+        ports = parsePorts(args[idx + 1]);
+    }
+
+    /**
+     * Parse a comma delimited list of ports and inclusive port ranges, such as 22,80,8000-9000.
+     */
+    static Integer[] parsePorts(String list) {
+        return Stream.of(list.split(","))
+                .map(String::trim)
+                .flatMap(Zing2::parsePortRange)
+                .toArray(Integer[]::new);
+    }
+
+    private static Stream<Integer> parsePortRange(String range) {
+        int dash = range.indexOf('-', 1);
+        int first = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+        int last = dash < 0 ? first : Integer.parseInt(range.substring(dash + 1));
+        if (first < 1 || last > 65535 || first > last) throw new IllegalArgumentException(range);
+        return IntStream.rangeClosed(first, last).boxed();
     }
 
     private static int parseArgValueToInt(String[] args, int index) {
         return Integer.parseInt(args[index + 1]);
     }
 
-    private static void logUsageAndQuit() {
+    private void logUsageAndQuit() {
         out.println(ZING_USAGE);
         out.println(ZING_EXAMPLE);
         exit(0);
     }
 
-    private static void logInitialInfo() {
+    private void logInitialInfo() {
+        if (unix != null) {
+            out.printf("ZING: %s: %d ops per cycle%n", host, limit);
+            return;
+        }
         out.printf("ZING: %s (%s): %d ports used, %d ops per cycle%n",
                 hostName, hostAddr, ports.length,
                 (limit * ports.length));
+        if (calibration != null) out.println(calibration.summary());
     }
 
-    private static void logInvalidParamAndQuit(String arg) {
+    private void logInvalidParamAndQuit(String arg) {
         out.printf("Error '%s' is invalid command-line parameter!%n", arg);
         exit(1);
     }
 
-    private static void logParamErrorAndQuit() {
+    private void logParamErrorAndQuit() {
         out.printf("Error with command-line arguments!%n");
         exit(1);
     }
 
-    private static void logHostErrorAndQuit() {
+    private void logHostErrorAndQuit() {
         out.println("Cannot resolve host. Inet address is null");
         exit(1);
     }
 
-    private static void logStatsAndQuit(long timeZingStart, long timeZingClose, double min, double avg, double max, double stdDev) {
-        out.printf("%n--- zing summary for %s/%s ---%n", hostName, hostAddr);
-        out.printf("%d total ops used; total time: %d ms%n", (ports.length * limit * count),
-                (timeZingClose - timeZingStart));
+    private void logStatsAndQuit(long timeZingStart, long timeZingClose, double min, double avg, double max, double stdDev) {
+        out.printf("%n--- zing summary for %s ---%n", unix != null ? host : hostName + "/" + hostAddr);
+        out.printf("%d total ops used; total time: %d ms%n", opsUsed, (timeZingClose - timeZingStart));
+        if (deadlineFlag) {
+            out.printf("deadline of %d s expired after %d of %d cycles%n", deadline, zingCycles, count);
+        }
+        if (absentCycles > 0) out.printf("%d of %d cycles absent%n", absentCycles, zingCycles);
 
         out.printf("total-time min/avg/max/stddev = %.3f/%.3f/%.3f/%.3f ms", min, avg, max, stdDev);
+        if (calibration != null) out.printf("%n%s", calibration.summary());
         out.printf("%n%n");
+
+        if (detector != null) {
+            detector.close(timeout);
+            out.printf("%d change-point events, %d dropped%n%n", detector.events(), detector.dropped());
+        }
+
+        if (outFile != null) saveSummary();
+        if (saveName != null) saveBaseline();
+        exit(compareName != null ? compareBaseline() : 0);
+    }
+
+    private void saveSummary() {
+        try {
+            var path = summary.save(outFile);
+            out.printf("Saved the summary of %d targets to %s.%n%n", summary.targets().size(), path);
+        } catch (Exception e) {
+            out.printf(".. Error: Cannot save summary %s: %s%n", outFile, e.getMessage());
+            exit(1);
+        }
+    }
+
+    private void mergeAndQuit() {
+
+        long timeMergeStart = currentTimeMillis();
+
+        try {
+            ZingSummary merged = ZingSummary.merge(hosts, jobs);
+            merged.report(hosts.size(), currentTimeMillis() - timeMergeStart, out);
+            summary = merged;
+        } catch (Exception e) {
+            out.printf(".. Error: Cannot merge summaries %s: %s%n", hosts, e.getMessage());
+            exit(1);
+        }
+
+        if (outFile != null) saveSummary();
         exit(0);
     }
 
+    private void saveBaseline() {
+        if (samples.size() == 0) {
+            out.printf(".. Error: Cannot save baseline %s: no zing times, the host was absent%n", saveName);
+            exit(1);
+        }
+        try {
+            var path = ZingBaseline.save(saveName, hostName, hostAddr, samples.toArray());
+            out.printf("Saved %d zing times as baseline %s (%s).%n%n", samples.size(), saveName, path);
+        } catch (Exception e) {
+            out.printf(".. Error: Cannot save baseline %s: %s%n", saveName, e.getMessage());
+            exit(1);
+        }
+    }
+
+    private int compareBaseline() {
+        try {
+            return ZingBaseline.report(compareName, ZingBaseline.load(compareName), samples.toArray(), out);
+        } catch (Exception e) {
+            out.printf(".. Error: Cannot load baseline %s: %s%n", compareName, e.getMessage());
+            return 1;
+        }
+    }
+
 }
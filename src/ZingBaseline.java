@@ -0,0 +1,215 @@
+/*
+ * @(#)ZingBaseline.java
+ *
+ * Title: ZingBaseline - Zero packet pING baseline capture and regression detection.
+ *
+ * Description: Saves the zing times of a run as a named baseline, and compares a
+ *     later run against it with a one-sided Mann-Whitney U test and bootstrap
+ *     confidence intervals on the p50 and p95 differences.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class ZingBaseline {
+
+    static final int EXIT_REGRESSION = 2;          // exit status when the run is slower than the baseline
+    static final int EXIT_TOO_FEW = 3;             // exit status when there are too few zing times to compare
+    static final double ALPHA = 0.05d;             // significance level of the one-sided test
+    static final int BOOTSTRAP_RESAMPLES = 2000;   // resamples for the percentile confidence intervals
+    static final long BOOTSTRAP_SEED = 0x5a494e47L; // fixed seed so the same samples give the same intervals
+
+    private static final String BASELINE_DIR = ".zing/baselines";
+    private static final String BASELINE_EXT = ".zb";
+
+    /**
+     * Result of comparing the current zing times with a baseline.
+     */
+    record Comparison(double u, double z, double p, double effect,
+                      double p50Delta, double p50Low, double p50High,
+                      double p95Delta, double p95Low, double p95High) {
+
+        boolean regression() {
+            return p < ALPHA;
+        }
+    }
+
+    private ZingBaseline() {}
+
+    /**
+     * Get the path of a named baseline, a plain name is kept under ~/.zing/baselines.
+     *
+     * @param name - baseline name, or a path to a baseline file.
+     */
+    static Path pathOf(final String name) {
+        if (name.indexOf('/') >= 0 || name.indexOf('\\') >= 0 || name.endsWith(BASELINE_EXT)) return Paths.get(name);
+        return Paths.get(getProperty("user.home"), BASELINE_DIR, name + BASELINE_EXT);
+    }
+
+    /**
+     * Save the zing times in milliseconds as a named baseline, one time per line after a comment header.
+     */
+    static Path save(final String name, final String hostName, final String hostAddr, final double[] samples)
+            throws IOException {
+
+        Path path = pathOf(name);
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+
+        List<String> lines = new ArrayList<>(samples.length + 2);
+        lines.add(String.format("# zing baseline %s for %s/%s", name, hostName, hostAddr));
+        lines.add(String.format("# %d samples in ms captured %s", samples.length, Instant.now()));
+        for (double sample : samples) lines.add(Double.toString(sample));
+
+        return Files.write(path, lines);
+    }
+
+    /**
+     * Load the zing times in milliseconds of a named baseline.
+     */
+    static double[] load(final String name) throws IOException {
+        return Files.readAllLines(pathOf(name)).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && line.charAt(0) != '#')
+                .mapToDouble(Double::parseDouble)
+                .toArray();
+    }
+
+    /**
+     * Compare the current zing times with the baseline, testing whether the current times are larger.
+     */
+    static Comparison compare(final double[] baseline, final double[] current) {
+
+        int n1 = current.length;
+        int n2 = baseline.length;
+        int n = n1 + n2;
+
+        // rank the pooled times, ties take the average of their ranks
+        double[][] pooled = new double[n][];
+        for (int x = 0; x < n1; x++) pooled[x] = new double[]{current[x], 1.0d};
+        for (int x = 0; x < n2; x++) pooled[n1 + x] = new double[]{baseline[x], 0.0d};
+        Arrays.sort(pooled, (a, b) -> Double.compare(a[0], b[0]));
+
+        double rankSum = 0.0d;
+        double ties = 0.0d;
+        for (int x = 0; x < n; ) {
+            int y = x;
+            while (y + 1 < n && pooled[y + 1][0] == pooled[x][0]) y++;
+            double rank = (x + y + 2) / 2.0d;
+            double t = y - x + 1;
+            ties += t * t * t - t;
+            for (int k = x; k <= y; k++) rankSum += rank * pooled[k][1];
+            x = y + 1;
+        }
+
+        double u = rankSum - n1 * (n1 + 1) / 2.0d;
+        double mean = n1 * (double) n2 / 2.0d;
+        double var = n1 * (double) n2 / 12.0d * ((n + 1) - ties / ((double) n * (n - 1)));
+        double z = var > 0.0d ? (u - mean - 0.5d) / Math.sqrt(var) : 0.0d;
+        double p = 1.0d - phi(z);
+
+        double[] p50 = bootstrap(baseline, current, 50.0d);
+        double[] p95 = bootstrap(baseline, current, 95.0d);
+
+        return new Comparison(u, z, p, u / (n1 * (double) n2), p50[0], p50[1], p50[2], p95[0], p95[1], p95[2]);
+    }
+
+    /**
+     * Bootstrap the difference of a percentile between the current and baseline zing times.
+     *
+     * @return the observed difference, and the low and high bounds of its 95% confidence interval.
+     */
+    private static double[] bootstrap(final double[] baseline, final double[] current, final double pct) {
+
+        SplittableRandom random = new SplittableRandom(BOOTSTRAP_SEED);
+        double[] deltas = new double[BOOTSTRAP_RESAMPLES];
+        double[] a = new double[baseline.length];
+        double[] b = new double[current.length];
+
+        for (int r = 0; r < BOOTSTRAP_RESAMPLES; r++) {
+            for (int x = 0; x < a.length; x++) a[x] = baseline[random.nextInt(a.length)];
+            for (int x = 0; x < b.length; x++) b[x] = current[random.nextInt(b.length)];
+            Arrays.sort(a);
+            Arrays.sort(b);
+            deltas[r] = ZingStats.percentile(b, pct) - ZingStats.percentile(a, pct);
+        }
+        Arrays.sort(deltas);
+
+        double[] sortedBaseline = baseline.clone();
+        double[] sortedCurrent = current.clone();
+        Arrays.sort(sortedBaseline);
+        Arrays.sort(sortedCurrent);
+
+        return new double[]{
+                ZingStats.percentile(sortedCurrent, pct) - ZingStats.percentile(sortedBaseline, pct),
+                ZingStats.percentile(deltas, 2.5d),
+                ZingStats.percentile(deltas, 97.5d)};
+    }
+
+    /**
+     * Standard normal cumulative distribution, from the complementary error function of Numerical Recipes.
+     */
+    private static double phi(final double z) {
+        double x = Math.abs(z) / Math.sqrt(2.0d);
+        double t = 1.0d / (1.0d + 0.5d * x);
+        double erfc = t * Math.exp(-x * x - 1.26551223d + t * (1.00002368d + t * (0.37409196d + t * (0.09678418d
+                + t * (-0.18628806d + t * (0.27886807d + t * (-1.13520398d + t * (1.48851587d
+                + t * (-0.82215223d + t * 0.17087277d)))))))));
+        return z >= 0.0d ? 1.0d - erfc / 2.0d : erfc / 2.0d;
+    }
+
+    /**
+     * Report the comparison with a baseline in the summary style of zing.
+     *
+     * @return exit status, EXIT_REGRESSION if the current run is slower than the baseline, EXIT_TOO_FEW if either
+     *     has too few zing times, such as a run with the host absent, else 0.
+     */
+    static int report(final String name, final double[] baseline, final double[] current, final PrintStream out) {
+
+        out.printf("--- zing baseline comparison with %s ---%n", name);
+
+        if (baseline.length < 2 || current.length < 2) {
+            out.printf("Too few samples to compare: %d baseline, %d current.%n%n", baseline.length, current.length);
+            return EXIT_TOO_FEW;
+        }
+
+        Comparison c = compare(baseline, current);
+
+        out.printf("%d baseline samples, %d current samples%n", baseline.length, current.length);
+        out.printf("p50 delta = %+.3f ms (95%% CI %+.3f/%+.3f ms)%n", c.p50Delta(), c.p50Low(), c.p50High());
+        out.printf("p95 delta = %+.3f ms (95%% CI %+.3f/%+.3f ms)%n", c.p95Delta(), c.p95Low(), c.p95High());
+        out.printf("Mann-Whitney U = %.1f, z = %.3f, p = %.4f; effect P(current > baseline) = %.3f%n",
+                c.u(), c.z(), c.p(), c.effect());
+
+        if (c.regression()) {
+            out.printf("Latency regression: slower than baseline with p = %.4f < %.2f.%n%n", c.p(), ALPHA);
+            return EXIT_REGRESSION;
+        }
+
+        out.printf("No latency regression: p = %.4f >= %.2f.%n%n", c.p(), ALPHA);
+        return 0;
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * @(#)ZingBulk.java
+ *
+ * Title: ZingBulk - Zero packet pING of a large list of target hosts.
+ *
+ * Description: Zings every host of a target list in a two stage pipeline, where
+ *     host names are resolved concurrently and each resolved host is handed to
+ *     the probe stage as soon as its address is ready.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+final class ZingBulk {
+
+    private final Integer[] ports;
+    private final int count;
+    private final int limit;
+    private final int timeout;
+    private final int jobs;
+    private final boolean tcp4Flag;
+    private final ZingSummary summary;
+    private final PrintStream out;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger absent = new AtomicInteger();
+    private final AtomicInteger unknown = new AtomicInteger();
+    private final ZingSummary.Target targetTimes = new ZingSummary.Target(); // histogram of the target averages
+    private ZingTargetTable table = null;
+
+    /**
+     * @param summary - mergeable summary every zing time is also recorded in, or null.
+     * @param out - stdout of the run.
+     */
+    ZingBulk(final Integer[] ports, final int count, final int limit, final int timeout, final int jobs,
+             final boolean tcp4Flag, final ZingSummary summary, final PrintStream out) {
+        this.ports = ports;
+        this.count = count;
+        this.limit = limit;
+        this.timeout = timeout;
+        this.jobs = jobs;
+        this.tcp4Flag = tcp4Flag;
+        this.summary = summary;
+        this.out = out;
+    }
+
+    /**
+     * Read the lines of a target list, one target per line, skipping blank lines and # comments.
+     */
+    static List<String> readTargetLines(final String fileName) throws IOException {
+        try (Stream<String> lines = targetLines(fileName)) {
+            return lines.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Stream the lines of a target list as they are read, one target per line, skipping blank lines and # comments.
+     */
+    static Stream<String> targetLines(final String fileName) throws IOException {
+        return Files.lines(Paths.get(fileName))
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && line.charAt(0) != '#');
+    }
+
+    /**
+     * Zing every target of a target list and report each one in the order the targets complete. The list is read
+     * as it is zinged, and a target is kept only as its rows of the target table.
+     */
+    void zing(final String fileName) throws IOException, InterruptedException {
+
+        int targets;
+        try (Stream<String> lines = targetLines(fileName)) {
+            targets = (int) lines.count();
+        }
+
+        out.printf("ZING: %d targets from %s: %d ports used, %d ops per target%n",
+                targets, fileName, ports.length, (count * limit * ports.length));
+
+        long timeZingStart = currentTimeMillis();
+
+        table = new ZingTargetTable(targets * ports.length);
+        CountDownLatch done = new CountDownLatch(targets);
+        ExecutorService probes = Executors.newFixedThreadPool(jobs);
+
+        try (ZingResolver resolver = new ZingResolver(jobs, tcp4Flag);
+             Stream<String> lines = targetLines(fileName)) {
+
+            Iterator<String> names = lines.map(line -> line.split("\\s+")[0]).iterator();
+            for (int x = 0; x < targets; x++) {
+                if (!names.hasNext()) {
+                    done.countDown(); // a line removed since the list was counted
+                    continue;
+                }
+                String target = names.next();
+                resolver.resolve(target).whenComplete((inetAddr, error) -> {
+                    if (error != null) {
+                        unknown.incrementAndGet();
+                        out.printf(" %s: Unknown host%n", target);
+                        done.countDown();
+                    } else {
+                        probes.execute(() -> {
+                            try {
+                                zingTarget(target, inetAddr);
+                            } finally {
+                                done.countDown();
+                            }
+                        });
+                    }
+                });
+            }
+
+            done.await();
+
+            long timeZingClose = currentTimeMillis();
+
+            logSummary(targets, resolver, timeZingClose - timeZingStart);
+        } finally {
+            probes.shutdownNow(); // ends the probes of a run stopped early, as that of a gone client of the daemon
+        }
+    }
+
+    private void zingTarget(final String target, final InetAddress inetAddr) {
+
+        int ops = count * limit * ports.length;
+        int first = table.add(target, inetAddr, ports);
+
+        for (int x = 0; x < count * limit; x++) {
+            for (int p = 0; p < ports.length; p++) {
+                double time = ZingProbe.connect(inetAddr, ports[p], timeout);
+                table.record(first + p, time);
+                if (summary != null) summary.record(target, ports[p], time);
+            }
+        }
+
+        // the average of the target over its ports, from the sums of its rows
+        double totalTime = 0.0d;
+        int present = 0;
+        for (int row = first; row < first + ports.length; row++) {
+            int rowPresent = table.ops(row) - table.absent(row);
+            totalTime += table.avg(row) * rowPresent;
+            present += rowPresent;
+        }
+
+        if (present > 0) {
+            double avg = totalTime / present;
+            active.incrementAndGet();
+            synchronized (targetTimes) {
+                targetTimes.record(avg);
+            }
+            out.printf(" %s (%s): %d ops Active time = %,.3f ms%n", target, inetAddr.getHostAddress(), ops, avg);
+        } else {
+            absent.incrementAndGet();
+            out.printf(" %s (%s): %d ops Absent!%n", target, inetAddr.getHostAddress(), ops);
+        }
+    }
+
+    private void logSummary(final int targets, final ZingResolver resolver, final long totalTime) {
+
+        ZingSummary.Target resolveTimes = resolver.times();
+
+        out.printf("%n--- zing summary for %d targets ---%n", targets);
+        out.printf("%d names looked up; %d active, %d absent, %d unknown; total time: %d ms%n",
+                resolver.lookups(), active.get(), absent.get(), unknown.get(), totalTime);
+        out.printf("resolve-time min/avg/max/stddev = %s ms; p50/p95/p99 = %s ms; %d failed%n",
+                resolveTimes.summary(), resolveTimes.percentiles(), resolver.failures());
+        out.printf("target table: %d host:port targets in %,d bytes, %.1f bytes per target%n", table.size(),
+                table.bytes(), table.bytesPerTarget());
+        synchronized (targetTimes) {
+            out.printf("total-time min/avg/max/stddev = %s ms", targetTimes.summary());
+        }
+        out.printf("%n%n");
+    }
+
+}
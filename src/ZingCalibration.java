@@ -0,0 +1,129 @@
+/*
+ * @(#)ZingCalibration.java
+ *
+ * Title: ZingCalibration - Zero packet pING self-calibration.
+ *
+ * Description: Measures the resolution of the timer and the cost of a zing op
+ *     to a loopback listener, the overhead of zing itself that is in every zing
+ *     time, and optionally subtracts it from the zing times.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+
+final class ZingCalibration {
+
+    static final int TIMER_SAMPLES = 1000; // changes of the timer the resolution is the smallest of
+    static final int WARMUP = 200;         // loopback ops run before measuring, so the JIT has compiled the op
+    static final int OPS = 1000;           // loopback ops measured
+
+    /**
+     * A zing op, the same one zing times to the host, that calibration times to the loopback listener.
+     */
+    interface Op {
+        double zing(InetAddress inetAddr, int port) throws IOException;
+    }
+
+    private final boolean subtract;
+    private long timerResolution = 0L; // ns
+    private double timerCost = 0.0d;   // ns of a call to the timer
+    private double loopbackMin = 0.0d; // ms
+    private double overhead = 0.0d;    // ms, the median loopback op
+
+    /**
+     * @param subtract - subtract the overhead from each zing time.
+     */
+    ZingCalibration(final boolean subtract) {
+        this.subtract = subtract;
+    }
+
+    /**
+     * Calibrate with the op to a listener on the loopback address of the TCP/IP version.
+     */
+    void calibrate(final Op op, final boolean tcp4Flag) throws IOException {
+
+        measureTimer();
+
+        InetAddress loopback = InetAddress.getByName(tcp4Flag ? "127.0.0.1" : "::1");
+
+        try (ServerSocket server = new ServerSocket(0, OPS, loopback)) {
+
+            Thread acceptor = new Thread(() -> {
+                while (!server.isClosed()) {
+                    try {
+                        server.accept().close();
+                    } catch (IOException e) {
+                        // the listener is closed after calibration
+                    }
+                }
+            }, "zing-calibration");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            int port = server.getLocalPort();
+
+            for (int x = 0; x < WARMUP; x++) op.zing(loopback, port);
+
+            double[] times = new double[OPS];
+            for (int x = 0; x < OPS; x++) times[x] = op.zing(loopback, port);
+            Arrays.sort(times);
+
+            loopbackMin = times[0];
+            overhead = ZingStats.percentile(times, 50.0d);
+        }
+    }
+
+    private void measureTimer() {
+
+        long resolution = Long.MAX_VALUE;
+        for (int x = 0; x < TIMER_SAMPLES; x++) {
+            long t0 = System.nanoTime();
+            long t1;
+            while ((t1 = System.nanoTime()) == t0) {
+                // spin until the timer changes
+            }
+            resolution = Math.min(resolution, t1 - t0);
+        }
+        timerResolution = resolution;
+
+        long timeStart = System.nanoTime();
+        for (int x = 0; x < TIMER_SAMPLES; x++) System.nanoTime();
+        timerCost = (System.nanoTime() - timeStart) / (double) TIMER_SAMPLES;
+    }
+
+    /**
+     * Correct a zing time for the overhead when subtracting, an absent time is left as is.
+     */
+    double correct(final double time) {
+        return subtract && time >= 0.0d ? Math.max(0.0d, time - overhead) : time;
+    }
+
+    /**
+     * Get a line with the calibration figures.
+     */
+    String summary() {
+        return String.format("calibration: timer resolution %d ns, timer cost %.0f ns; loopback op min/p50 = "
+                        + "%.3f/%.3f ms over %d ops; overhead %.3f ms %s", timerResolution, timerCost, loopbackMin,
+                overhead, OPS, overhead, subtract ? "subtracted" : "not subtracted");
+    }
+
+    double overhead() {
+        return overhead;
+    }
+
+}
@@ -0,0 +1,500 @@
+/*
+ * @(#)ZingDaemon.java
+ *
+ * Title: ZingDaemon - Zero packet pING resident daemon and its thin client.
+ *
+ * Description: Serves zing runs from a resident JVM on a Unix domain socket, so
+ *     a run given to the zing command-line is forwarded to the daemon when one
+ *     is listening, with its output streamed back as the run prints it, and
+ *     run in-process otherwise. A forwarded run has a warm JIT and address
+ *     cache instead of the startup of a JVM of its own. Each run is served on
+ *     a thread of its own, and stopped when its client is gone.
+ *
+ *     A request is the directory of the client, the count of its arguments
+ *     and each argument, then the count of its environment variables and the
+ *     name and value of each, where a count is a big-endian int and a string
+ *     an int length and as many bytes of UTF-8. The reply is frames, each a
+ *     byte kind, an int length and as many bytes of output, up to the END
+ *     frame with the exit status as its length, or is the one DECLINED frame
+ *     of a run the client is to do in-process. zingc.py is a thin client.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.security.auth.module.UnixSystem;
+import jdk.net.ExtendedSocketOptions;
+
+final class ZingDaemon {
+
+    static final String SOCKET = ".zing/zing.sock"; // socket of the daemon under the home directory
+    static final int NONE = -1;                      // forward status when no daemon is listening
+    static final int CHUNK = 8192;                   // most output bytes in one frame
+    static final int CLIENTS = 64;                   // runs served at the same time, and as many more waiting
+
+    // a run has the shell of a hook and the files of the user, so the socket is only for the user of the daemon
+    private static final Set<PosixFilePermission> PRIVATE = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> SOCKET_PRIVATE = PosixFilePermissions.fromString("rw-------");
+
+    // kinds of frame of a reply, each frame is its kind, an int length and then as many bytes of output
+    private static final byte END = 0;      // last frame, with the exit status as its length
+    private static final byte OUT = 1;
+    private static final byte ERR = 2;
+    private static final byte DECLINED = 3; // only frame of a run the daemon cannot do as the client would
+
+    /**
+     * Thrown in place of System.exit by a run served by the daemon, as an Error so the catch of an Exception by the
+     * run does not stop it.
+     */
+    static final class Exit extends Error {
+
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        Exit(final int status) {
+            super(null, null, false, false);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Check a run can be served by the daemon as it would be done by the client, given the client is in the
+     * directory of the daemon or not.
+     */
+    interface Check {
+        boolean serves(String[] args, boolean sameDir);
+    }
+
+    /**
+     * Zing run of the daemon, the whole of the zing command-line after its arguments are given.
+     */
+    interface Run {
+        int run(String[] args, Client client);
+    }
+
+    /**
+     * Client of a run served by the daemon: the directory and environment of its command-line, in which a hook of the
+     * run is run, and the stdout and stderr of the run sent back to it. A run is stopped when its client is gone.
+     */
+    static final class Client {
+
+        private final Path dir;
+        private final Map<String, String> env;
+        private final PrintStream out;
+        private final PrintStream err;
+
+        private Runnable abort = null; // stops the run when the client is gone
+        private boolean gone = false;
+        private boolean finished = false;
+
+        Client(final Path dir, final Map<String, String> env, final PrintStream out, final PrintStream err) {
+            this.dir = dir;
+            this.env = env;
+            this.out = out;
+            this.err = err;
+        }
+
+        Path dir() {
+            return dir;
+        }
+
+        Map<String, String> env() {
+            return env;
+        }
+
+        PrintStream out() {
+            return out;
+        }
+
+        PrintStream err() {
+            return err;
+        }
+
+        /**
+         * Stop the run with the abort when the client is gone, at once when it is already gone.
+         */
+        void whenGone(final Runnable abort) {
+            boolean now;
+            synchronized (this) {
+                this.abort = abort;
+                now = gone;
+            }
+            if (now) abort.run();
+        }
+
+        /**
+         * The client is gone, stop the run unless it has ended.
+         *
+         * @return true when the run is stopped.
+         */
+        boolean leave() {
+            Runnable action;
+            synchronized (this) {
+                if (finished || gone) return false;
+                gone = true;
+                action = abort;
+            }
+            if (action != null) action.run();
+            return true;
+        }
+
+        /**
+         * The run has ended.
+         *
+         * @return true when the client is still there for the exit status.
+         */
+        synchronized boolean finish() {
+            finished = true;
+            return !gone;
+        }
+    }
+
+    private ZingDaemon() {}
+
+    static Path socketPath() {
+        return Paths.get(getProperty("user.home"), SOCKET);
+    }
+
+    /**
+     * Forward the arguments of a run to the daemon, and copy its output to stdout and stderr as it arrives. The
+     * arguments are sent as they are with the directory and environment of the client, so the output is that of the
+     * run in-process, and a run with a relative file is declined by a daemon in another directory.
+     *
+     * @return exit status of the run, or NONE when no daemon is listening, the run is declined, or the connection
+     *     is closed before any reply as by a daemon serving as many runs as it can, and the run is to be done
+     *     in-process.
+     */
+    static int forward(final String[] args) {
+
+        Path path = socketPath();
+        if (!Files.exists(path)) return NONE;
+
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open(UnixDomainSocketAddress.of(path));
+        } catch (IOException e) {
+            return NONE; // a socket left by a daemon that is gone
+        }
+
+        boolean replied = false;
+
+        try (channel) {
+
+            DataOutputStream request = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel)));
+            writeString(request, getProperty("user.dir"));
+            request.writeInt(args.length);
+            for (String arg : args) writeString(request, arg);
+            Map<String, String> env = getenv();
+            request.writeInt(env.size());
+            for (Map.Entry<String, String> entry : env.entrySet()) {
+                writeString(request, entry.getKey());
+                writeString(request, entry.getValue());
+            }
+            request.flush();
+
+            DataInputStream reply = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel),
+                    CHUNK));
+            byte[] bytes = new byte[CHUNK];
+
+            while (true) {
+                byte kind = reply.readByte();
+                int length = reply.readInt();
+                replied = true;
+                if (kind == END) return length;
+                if (kind == DECLINED) return NONE;
+
+                reply.readFully(bytes, 0, length);
+                PrintStream stream = kind == ERR ? err : out;
+                stream.write(bytes, 0, length);
+                stream.flush();
+                if (stream.checkError()) return 1; // the output is closed, the daemon stops the run once this is gone
+            }
+        } catch (IOException e) {
+            if (!replied) return NONE;
+            out.printf(".. Error: Lost the zing daemon at %s: %s%n", path, e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Serve runs forwarded to the socket until the daemon is stopped, each run on a thread of a pool of CLIENTS with
+     * its stdout and stderr sent back to its client, and a line to the console of the daemon for each run. The socket
+     * is in a directory only the user of the daemon can use, and a client of another user is refused, as is a client
+     * once CLIENTS more wait for a thread.
+     */
+    static void serve(final Check check, final Run run) throws IOException {
+
+        Path path = socketPath();
+
+        boolean listening;
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(path)).close();
+            listening = true;
+        } catch (IOException e) {
+            listening = false; // a socket that is left is stale
+        }
+        if (listening) throw new IOException("a zing daemon is already listening on " + path);
+
+        UserPrincipal user = privateDir(path.getParent());
+        Files.deleteIfExists(path);
+
+        ExecutorService clients = new ThreadPoolExecutor(CLIENTS, CLIENTS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(CLIENTS), runnable -> new Thread(runnable, "zing-client"));
+
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+
+            server.bind(UnixDomainSocketAddress.of(path));
+            path.toFile().deleteOnExit();
+            Files.setPosixFilePermissions(path, SOCKET_PRIVATE);
+
+            out.printf("ZING DAEMON: listening on %s%n", path);
+
+            while (true) {
+                SocketChannel client = server.accept();
+                try {
+                    UserPrincipal peer = client.getOption(ExtendedSocketOptions.SO_PEERCRED).user();
+                    if (!peer.equals(user)) throw new IOException("the client is of user " + peer.getName());
+                    clients.execute(() -> serve(client, check, run));
+                } catch (IOException e) {
+                    out.printf(".. Error: Refused a zing run: %s%n", e.getMessage());
+                    client.close();
+                } catch (RejectedExecutionException e) {
+                    out.printf(".. Error: Refused a zing run: %d runs served and as many waiting%n", CLIENTS);
+                    client.close(); // the client does the run in-process
+                }
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * Create the directory of the socket only for the user of the daemon, or check it is when it exists, as anyone
+     * who can reach the socket can run a hook and read and write the files of this user.
+     *
+     * @return user of the daemon, the owner of the directory.
+     * @throws IOException when the directory is of another user, or others can use it.
+     */
+    private static UserPrincipal privateDir(final Path dir) throws IOException {
+
+        if (Files.notExists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PRIVATE));
+        }
+
+        PosixFileAttributes attrs = Files.readAttributes(dir, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        long uid = ((Number) Files.getAttribute(dir, "unix:uid", LinkOption.NOFOLLOW_LINKS)).longValue();
+
+        if (!attrs.isDirectory()) throw new IOException(dir + " is not a directory");
+        if (uid != new UnixSystem().getUid()) {
+            throw new IOException(dir + " is owned by " + attrs.owner().getName() + ", not the user of the daemon");
+        }
+        if (!PRIVATE.containsAll(attrs.permissions())) {
+            throw new IOException(dir + " is " + PosixFilePermissions.toString(attrs.permissions())
+                    + ", not only for its owner, as by chmod 700 " + dir);
+        }
+
+        return attrs.owner();
+    }
+
+    private static void serve(final SocketChannel channel, final Check check, final Run run) {
+        try (channel) {
+            serveRun(channel, check, run);
+        } catch (EOFException e) {
+            // a connect without a run, such as of a daemon checking for this one
+        } catch (IOException e) {
+            out.printf(".. Error: Cannot serve a zing run: %s%n", e.getMessage());
+        }
+    }
+
+    private static void serveRun(final SocketChannel channel, final Check check, final Run run) throws IOException {
+
+        DataInputStream request = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        String dir = readString(request);
+        String[] args = new String[request.readInt()];
+        for (int x = 0; x < args.length; x++) args[x] = readString(request);
+        Map<String, String> env = new HashMap<>();
+        for (int x = request.readInt(); x > 0; x--) env.put(readString(request), readString(request));
+
+        // not Channels.newOutputStream, as its writes wait on the blocking lock held by the read of the watch
+        DataOutputStream reply = new DataOutputStream(new BufferedOutputStream(new ChannelStream(channel),
+                CHUNK + 5));
+
+        String command = String.join(" ", args);
+
+        if (!check.serves(args, dir.equals(getProperty("user.dir")))) {
+            reply.writeByte(DECLINED);
+            reply.writeInt(0);
+            reply.flush();
+            out.printf("zing %s: declined, done in-process in %s%n", command, dir);
+            return;
+        }
+        PrintStream runOut = new PrintStream(new BufferedOutputStream(new FrameStream(reply, OUT), CHUNK), true);
+        PrintStream runErr = new PrintStream(new BufferedOutputStream(new FrameStream(reply, ERR), CHUNK), true);
+        Client client = new Client(Paths.get(dir), env, runOut, runErr);
+
+        Thread runner = Thread.currentThread();
+        Thread watch = new Thread(() -> watch(channel, client, runner), "zing-client-watch");
+        watch.setDaemon(true);
+        watch.start();
+
+        long timeStart = currentTimeMillis();
+        int status;
+
+        try {
+            status = run.run(args, client);
+        } finally {
+            runOut.flush();
+            runErr.flush();
+        }
+
+        if (!client.finish()) {
+            out.printf("zing %s: client gone, stopped in %d ms%n", command, currentTimeMillis() - timeStart);
+            return;
+        }
+
+        synchronized (reply) {
+            reply.writeByte(END);
+            reply.writeInt(status);
+            reply.flush();
+        }
+
+        out.printf("zing %s: exit %d in %d ms%n", command, status, currentTimeMillis() - timeStart);
+    }
+
+    /**
+     * Watch for the end of the connection of a client, which sends nothing after its request, and stop its run when
+     * the client is gone before the run ends, as the output of a gone client is lost without an error to the run.
+     */
+    private static void watch(final SocketChannel channel, final Client client, final Thread runner) {
+
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+
+        try {
+            while (channel.read(buffer) >= 0) buffer.clear();
+        } catch (IOException e) {
+            // the client is gone, or the run ended and its channel is closed
+        }
+
+        if (client.leave()) runner.interrupt(); // the blocking waits of the run end at the interrupt
+    }
+
+    private static void writeString(final DataOutputStream request, final String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        request.writeInt(bytes.length);
+        request.write(bytes);
+    }
+
+    private static String readString(final DataInputStream request) throws IOException {
+        byte[] bytes = new byte[request.readInt()];
+        request.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Output of a run sent to its client as frames of one kind.
+     */
+    private static final class FrameStream extends OutputStream {
+
+        private final DataOutputStream reply;
+        private final byte kind;
+
+        FrameStream(final DataOutputStream reply, final byte kind) {
+            this.reply = reply;
+            this.kind = kind;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int off, final int len) throws IOException {
+            synchronized (reply) {
+                for (int x = off; x < off + len; x += CHUNK) {
+                    int length = Math.min(CHUNK, off + len - x);
+                    reply.writeByte(kind);
+                    reply.writeInt(length);
+                    reply.write(bytes, x, length);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (reply) {
+                reply.flush();
+            }
+        }
+    }
+
+    /**
+     * Bytes written to a channel, which is read at the same time by the watch of its client.
+     */
+    private static final class ChannelStream extends OutputStream {
+
+        private final SocketChannel channel;
+
+        ChannelStream(final SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int off, final int len) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, off, len);
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+}
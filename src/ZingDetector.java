@@ -0,0 +1,228 @@
+/*
+ * @(#)ZingDetector.java
+ *
+ * Title: ZingDetector - Zero packet pING online change-point detection.
+ *
+ * Description: Detects latency step changes and absent rate changes for each
+ *     host and port while zing runs, with an EWMA mean and variance and a
+ *     two-sided CUSUM on the standardized zing time, and fires local alert hooks.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class ZingDetector {
+
+    static final double EWMA_WEIGHT = 0.1d;   // weight of a new zing time in the EWMA mean and variance
+    static final double CUSUM_SLACK = 0.5d;   // drift allowed per zing time, in standard deviations
+    static final double CUSUM_LIMIT = 5.0d;   // cumulative drift that signals a step change
+    static final int WARMUP = 8;              // zing times to learn the mean and variance before detecting
+    static final double MIN_STDDEV = 0.1d;    // floor in ms, so a near-constant time does not make any change a step
+    static final int ABSENT_RUN = 3;          // absent zing times in a row that signal an absent event at once
+    static final int HOOK_QUEUE = 64;         // events waiting for the hook, more are dropped
+
+    /**
+     * Detector state of one host and port, constant in size however long zing runs.
+     */
+    private static final class State {
+        long n;
+        double mean;
+        double var;
+        double up;        // CUSUM of upward drift
+        double down;      // CUSUM of downward drift
+        double absent;    // EWMA of the absent rate
+        int absentRun;    // absent zing times in a row
+        boolean absentAlarm;
+    }
+
+    /**
+     * A change detected for a host and port.
+     */
+    record Event(Instant time, String type, String target, double value, double mean, double stddev) {
+
+        String record() {
+            return String.format("%s %s %s value=%.3f mean=%.3f stddev=%.3f", time, type, target, value, mean, stddev);
+        }
+    }
+
+    private final Map<String, State> states = new HashMap<>();
+    private final String hook;
+    private final Path eventsFile;
+    private final double absentThreshold;
+    private final PrintStream err;
+    private final ZingDaemon.Client client;
+    private final ThreadPoolExecutor dispatcher;
+    private final AtomicInteger dropped = new AtomicInteger();
+    private int events = 0;
+
+    /**
+     * @param hook - command run by the shell for each event, or null.
+     * @param eventsFile - file each event record is appended to, or null.
+     * @param absentThreshold - absent rate from 0 to 1 that signals an absent event.
+     * @param err - stderr of the run, for an event that cannot be delivered and the stderr of the hook.
+     * @param client - client of a run served by the daemon, in whose directory and environment the hook is run, or
+     *     null.
+     */
+    ZingDetector(final String hook, final String eventsFile, final double absentThreshold, final PrintStream err,
+                 final ZingDaemon.Client client) {
+        this.hook = hook;
+        this.eventsFile = eventsFile == null ? null : Paths.get(eventsFile);
+        this.absentThreshold = absentThreshold;
+        this.err = err;
+        this.client = client;
+
+        // one thread delivers events in order, the zing loop only ever offers to a bounded queue
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(HOOK_QUEUE), runnable -> {
+                    Thread thread = new Thread(runnable, "zing-hook");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, executor) -> dropped.incrementAndGet());
+    }
+
+    /**
+     * Observe a zing time for a target, a host:port or a unix: socket, in O(1) time and without blocking.
+     *
+     * @param time - zing time in ms, or less than zero when the host was absent.
+     */
+    void observe(final String target, final double time) {
+
+        State s = states.computeIfAbsent(target, key -> new State());
+
+        boolean absent = time < 0.0d;
+        s.absent += EWMA_WEIGHT * ((absent ? 1.0d : 0.0d) - s.absent);
+        s.absentRun = absent ? s.absentRun + 1 : 0;
+
+        // a host that goes dark is signalled after a few absent times, the EWMA alone takes a cycle or more
+        if (!s.absentAlarm && (s.absent >= absentThreshold || s.absentRun >= ABSENT_RUN)) {
+            s.absentAlarm = true;
+            fire(new Event(Instant.now(), "absent", target, s.absent, s.mean, Math.sqrt(s.var)));
+        } else if (s.absentAlarm && s.absentRun == 0 && s.absent < absentThreshold / 2.0d) {
+            s.absentAlarm = false;
+            fire(new Event(Instant.now(), "present", target, s.absent, s.mean, Math.sqrt(s.var)));
+        }
+
+        if (absent) return;
+
+        if (s.n++ < WARMUP) {
+            // plain running mean and variance while warming up, so the first zing time does not dominate
+            double delta = time - s.mean;
+            s.mean += delta / s.n;
+            s.var += (delta * (time - s.mean) - s.var) / s.n;
+            return;
+        }
+
+        double stddev = Math.max(Math.sqrt(s.var), Math.max(MIN_STDDEV, 0.05d * s.mean));
+        double z = (time - s.mean) / stddev;
+
+        s.up = Math.max(0.0d, s.up + z - CUSUM_SLACK);
+        s.down = Math.max(0.0d, s.down - z - CUSUM_SLACK);
+
+        if (s.up > CUSUM_LIMIT || s.down > CUSUM_LIMIT) {
+            fire(new Event(Instant.now(), s.up > CUSUM_LIMIT ? "latency-up" : "latency-down", target, time, s.mean,
+                    stddev));
+            // restart at the new level so the next change is measured from here
+            s.n = 1;
+            s.mean = time;
+            s.var = 0.0d;
+            s.up = 0.0d;
+            s.down = 0.0d;
+            return;
+        }
+
+        double delta = time - s.mean;
+        s.mean += EWMA_WEIGHT * delta;
+        s.var = (1.0d - EWMA_WEIGHT) * (s.var + EWMA_WEIGHT * delta * delta);
+    }
+
+    private void fire(final Event event) {
+        events++;
+        dispatcher.execute(() -> deliver(event));
+    }
+
+    private void deliver(final Event event) {
+
+        if (eventsFile != null) {
+            try {
+                Files.writeString(eventsFile, event.record() + System.lineSeparator(),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                err.printf(".. Error: Cannot write event to %s: %s%n", eventsFile, e.getMessage());
+            }
+        }
+
+        if (hook != null) {
+            boolean windows = System.getProperty("os.name", "").startsWith("Windows");
+            ProcessBuilder builder = windows ? new ProcessBuilder("cmd", "/c", hook) : new ProcessBuilder("sh", "-c", hook);
+            Map<String, String> env = builder.environment();
+            if (client != null) {
+                builder.directory(client.dir().toFile());
+                env.clear();
+                env.putAll(client.env());
+            }
+            env.put("ZING_EVENT", event.type());
+            env.put("ZING_TARGET", event.target());
+            env.put("ZING_TIME", event.time().toString());
+            env.put("ZING_VALUE", String.format("%.3f", event.value()));
+            env.put("ZING_MEAN", String.format("%.3f", event.mean()));
+            env.put("ZING_STDDEV", String.format("%.3f", event.stddev()));
+            // the stderr of the hook of a run served by the daemon is sent back to the client with that of the run
+            builder.redirectOutput(Redirect.DISCARD).redirectError(client != null ? Redirect.PIPE : Redirect.INHERIT);
+            try {
+                Process process = builder.start();
+                if (client != null) process.getErrorStream().transferTo(err);
+                process.waitFor();
+            } catch (IOException e) {
+                err.printf(".. Error: Cannot run hook %s: %s%n", hook, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Wait a bounded time for the events already queued to be delivered.
+     */
+    void close(final long waitMillis) {
+        dispatcher.shutdown();
+        try {
+            dispatcher.awaitTermination(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int events() {
+        return events;
+    }
+
+    int dropped() {
+        return dropped.get();
+    }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * @(#)ZingHedge.java
+ *
+ * Title: ZingHedge - Zero packet pING hedged connects.
+ *
+ * Description: Zings a host with hedged connects, where a second independent
+ *     connect is fired when the first has not completed by a percentile of the
+ *     recent zing times, the first to complete is taken and the other cancelled.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+final class ZingHedge {
+
+    static final int WINDOW = 64;  // recent zing times the hedge delay is the percentile of
+    static final int WARMUP = 8;   // zing times needed before hedging
+
+    private final double percentile;
+    private final long timeoutNanos;
+    private final PrintStream out;
+
+    private final double[] recent = new double[WINDOW]; // ring of the recent primary connect times in ms
+    private int recentCount = 0;
+
+    private final ZingStats opTimes = new ZingStats();
+    private int ops = 0;
+    private int hedged = 0;
+    private int hedgeWins = 0;
+    private int absent = 0;
+    private double lastDelay = 0.0d;
+
+    /**
+     * @param percentile - percentile of the recent zing times to wait before firing the hedge connect.
+     * @param timeout - timeout in ms for an op, from the start of the first connect.
+     * @param out - stdout of the run.
+     */
+    ZingHedge(final double percentile, final int timeout, final PrintStream out) {
+        this.percentile = percentile;
+        this.timeoutNanos = timeout * 1_000_000L;
+        this.out = out;
+    }
+
+    /**
+     * Zing the host with a hedged connect for each op, and report the hedging and op times.
+     */
+    void zing(final InetAddress inetAddr, final String hostName, final Integer[] ports, final int count,
+              final int limit) throws IOException {
+
+        String hostAddr = inetAddr.getHostAddress();
+
+        out.printf("ZING HEDGE: %s (%s): %d ports used, %d ops per cycle, hedge at p%s%n", hostName, hostAddr,
+                ports.length, (limit * ports.length), percentile == Math.rint(percentile)
+                        ? Long.toString((long) percentile) : Double.toString(percentile));
+
+        long timeZingStart = currentTimeMillis();
+
+        try (Selector selector = Selector.open()) {
+
+            for (int x = 0; x < count; x++) {
+
+                ZingStats cycle = new ZingStats();
+                int cycleHedged = hedged;
+
+                out.printf("#%d ", x + 1);
+                out.print(".");
+
+                for (int y = 0; y < limit; y++) {
+                    for (int port : ports) {
+                        double time = connect(selector, new InetSocketAddress(inetAddr, port));
+                        if (time >= 0.0d) cycle.add(time);
+                        else out.print(".");
+                    }
+                }
+
+                out.print("..");
+                out.printf(" %d ops to %s (%s): ", limit * ports.length, hostName, hostAddr);
+                if (cycle.size() > 0) {
+                    out.printf("Active time = %,.3f ms, %d hedged%n", cycle.avg(), hedged - cycleHedged);
+                } else {
+                    out.println("Absent!");
+                }
+            }
+        }
+
+        long timeZingClose = currentTimeMillis();
+
+        out.printf("%n--- zing hedge summary for %s/%s ---%n", hostName, hostAddr);
+        out.printf("%d total ops used; %d absent; total time: %d ms%n", ops, absent, (timeZingClose - timeZingStart));
+        out.printf("hedge fired %d times (%.1f%% of ops), won %d (%.1f%% of hedged); last delay %.3f ms%n",
+                hedged, 100.0d * hedged / Math.max(1, ops), hedgeWins, 100.0d * hedgeWins / Math.max(1, hedged),
+                lastDelay);
+        out.printf("op-time min/avg/max/stddev = %s ms; p50/p95/p99 = %s ms", opTimes.summary(),
+                opTimes.percentiles());
+        out.printf("%n%n");
+    }
+
+    /**
+     * Perform one hedged op, the time is from the start of the first connect to whichever connect completes first.
+     *
+     * @return zing time in ms, or ZingProbe.ABSENT when neither connect completed.
+     */
+    double connect(final Selector selector, final InetSocketAddress target) throws IOException {
+
+        ops++;
+
+        long timeStart = nanoTime();
+        long deadline = timeStart + timeoutNanos;
+        long hedgeAt = deadline; // no hedge until enough zing times are known for the percentile
+
+        if (recentCount >= WARMUP) {
+            lastDelay = hedgeDelay();
+            hedgeAt = timeStart + (long) (lastDelay * 1_000_000.0d);
+        }
+
+        SocketChannel primary = null;
+        SocketChannel hedge = null;
+        SocketChannel winner = null;
+        long timeClose = 0L;
+        int failed = 0;
+        boolean primaryFailed = false;
+
+        try {
+            primary = open(selector, target);
+            if (primary == null) {
+                failed++;
+                primaryFailed = true;
+            } else if (primary.isConnected()) {
+                winner = primary;
+            }
+
+            while (winner == null && failed < (hedgeAt == Long.MAX_VALUE ? 2 : 1)) {
+
+                long now = nanoTime();
+                if (now >= deadline) break;
+
+                if (hedge == null && now >= hedgeAt) {
+                    hedge = open(selector, target);
+                    if (hedge == null) failed++;
+                    else if (hedge.isConnected()) winner = hedge;
+                    hedged++;
+                    hedgeAt = Long.MAX_VALUE;
+                    continue;
+                }
+
+                long wait = Math.max(1L, (Math.min(hedgeAt, deadline) - now) / 1_000_000L);
+                selector.select(wait);
+                ZingProbe.checkInterrupted();
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    SocketChannel channel = (SocketChannel) key.channel();
+                    key.cancel();
+                    try {
+                        if (channel.finishConnect() && winner == null) {
+                            winner = channel;
+                            timeClose = nanoTime();
+                        }
+                    } catch (IOException e) {
+                        failed++;
+                        if (channel == primary) primaryFailed = true;
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } finally {
+            // the loser, if any, is cancelled by closing it
+            close(primary);
+            close(hedge);
+            selector.selectNow();
+        }
+
+        if (winner != null && timeClose == 0L) timeClose = nanoTime(); // connected at once
+
+        if (winner == null) {
+            absent++;
+            // a primary still connecting at the deadline took the timeout at least
+            if (!primaryFailed && nanoTime() >= deadline) addRecent(timeoutNanos / 1_000_000.0d);
+            return ZingProbe.ABSENT;
+        }
+
+        double time = (timeClose - timeStart) / 1_000_000.0d;
+
+        if (winner == hedge) hedgeWins++;
+        opTimes.add(time);
+
+        // the hedge delay is a percentile of the primary times, as the op times are cut short by the hedge and
+        // their percentile would fall cycle by cycle; a primary beaten by the hedge is cancelled still connecting,
+        // so its time is censored at the op time, the least it took, and never at the time of the hedge connect
+        if (winner == primary) {
+            addRecent(time);
+        } else if (!primaryFailed) {
+            addRecent(Math.max(time, lastDelay));
+        }
+
+        return time;
+    }
+
+    private void addRecent(final double time) {
+        recent[recentCount++ % WINDOW] = time;
+    }
+
+    private double hedgeDelay() {
+        double[] sorted = Arrays.copyOf(recent, Math.min(recentCount, WINDOW));
+        Arrays.sort(sorted);
+        return ZingStats.percentile(sorted, percentile);
+    }
+
+    /**
+     * Start a connect, or return null when it failed at once.
+     */
+    private static SocketChannel open(final Selector selector, final InetSocketAddress target) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.configureBlocking(false);
+            if (!channel.connect(target)) channel.register(selector, SelectionKey.OP_CONNECT);
+            return channel;
+        } catch (IOException e) {
+            close(channel);
+            return null;
+        }
+    }
+
+    private static void close(final SocketChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing to recover, the descriptor is released either way
+        }
+    }
+
+}
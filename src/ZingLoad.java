@@ -0,0 +1,358 @@
+/*
+ * @(#)ZingLoad.java
+ *
+ * Title: ZingLoad - Zero packet pING connection rate load test.
+ *
+ * Description: Drives new connects to a host at a target rate in connects per
+ *     second, in steps or a ramp, open-loop so each connect starts at its own
+ *     scheduled time however long the earlier connects take, and reports each
+ *     step to find the rate where the accept path of the host saturates.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.LockSupport;
+
+final class ZingLoad {
+
+    static final double KNEE_RATE = 0.95d;    // achieved rate below this part of the target rate is saturation
+    static final double KNEE_FAILURES = 0.01d; // refused and timed out connects above this part is saturation
+    static final double KNEE_LATENCY = 4.0d;  // p99 connect time above this many times that of the first step
+
+    private final InetAddress inetAddr;
+    private final Integer[] ports;
+    private final long timeoutNanos;
+    private final int stepSeconds;
+    private final boolean ramp;
+    private final PrintStream out;
+
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>(); // in-flight connects in deadline order
+    private Step[] steps = new Step[0];
+    private final ZingStats generatorLag = new ZingStats(); // ms a connect started after its scheduled time
+
+    /**
+     * A step of the profile, with its target rate and the outcome of the connects scheduled in it.
+     */
+    private static final class Step {
+        final double rate;
+        final ZingStats times = new ZingStats(); // ms from the scheduled start of a connect to its completion
+        int attempted = 0;
+        int refused = 0;
+        int timeouts = 0;
+        int errors = 0;
+        int outstanding = 0;
+        boolean reported = false;
+
+        Step(double rate) {
+            this.rate = rate;
+        }
+
+        double achieved(int stepSeconds) {
+            return times.size() / (double) stepSeconds;
+        }
+    }
+
+    /**
+     * A connect in flight, with the time it was scheduled at and the time it was started.
+     */
+    private static final class Pending {
+        final Step step;
+        final SocketChannel channel;
+        final long scheduled;
+        final long start;
+        boolean done;
+
+        Pending(Step step, SocketChannel channel, long scheduled, long start) {
+            this.step = step;
+            this.channel = channel;
+            this.scheduled = scheduled;
+            this.start = start;
+        }
+    }
+
+    /**
+     * @param stepSeconds - seconds of each step of the profile.
+     * @param ramp - raise the rate linearly through the profile, else hold the rate of each step.
+     * @param out - stdout of the run.
+     */
+    ZingLoad(final InetAddress inetAddr, final Integer[] ports, final int timeout, final int stepSeconds,
+             final boolean ramp, final PrintStream out) {
+        this.inetAddr = inetAddr;
+        this.ports = ports;
+        this.timeoutNanos = timeout * 1_000_000L;
+        this.stepSeconds = stepSeconds;
+        this.ramp = ramp;
+        this.out = out;
+    }
+
+    /**
+     * Parse a load profile of rates in connects per second, from-to/by such as 100-1000/100, the step is from when
+     * not given.
+     *
+     * @return rates {from, to, by}.
+     */
+    static int[] parseProfile(final String profile) {
+        int slash = profile.indexOf('/');
+        String range = slash < 0 ? profile : profile.substring(0, slash);
+        int dash = range.indexOf('-');
+        int from = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+        int to = dash < 0 ? from : Integer.parseInt(range.substring(dash + 1));
+        int by = slash < 0 ? from : Integer.parseInt(profile.substring(slash + 1));
+        if (from < 1 || to < from || by < 1) throw new IllegalArgumentException(profile);
+        return new int[]{from, to, by};
+    }
+
+    /**
+     * Drive the profile of connect rates and report each step once all its connects are complete.
+     */
+    void load(final String hostName, final int[] profile) throws IOException {
+
+        int from = profile[0];
+        int to = profile[1];
+        int by = profile[2];
+
+        steps = new Step[(to - from) / by + 1];
+        for (int s = 0; s < steps.length; s++) {
+            // a ramp step reports the average rate of the ramp over the step
+            steps[s] = new Step(ramp ? from + (to - from) * (s + 0.5d) / steps.length : from + s * by);
+        }
+
+        out.printf("ZING LOAD: %s (%s): %d ports used, %d steps of %d s, %s %d to %d connects per second%n",
+                hostName, inetAddr.getHostAddress(), ports.length, steps.length, stepSeconds,
+                ramp ? "ramp" : "step", from, ramp ? to : from + (steps.length - 1) * by);
+
+        long timeZingStart = currentTimeMillis();
+        long stepNanos = stepSeconds * 1_000_000_000L;
+
+        try (Selector selector = Selector.open()) {
+
+            long timeStart = nanoTime();
+            long timeEnd = timeStart + steps.length * stepNanos;
+            long scheduled = timeStart;
+            int attempt = 0;
+
+            while (scheduled < timeEnd || !pending.isEmpty()) {
+
+                // start every connect scheduled by now, the schedule does not wait on the connects in flight
+                long now = nanoTime();
+                while (scheduled <= now && scheduled < timeEnd) {
+                    int s = (int) ((scheduled - timeStart) / stepNanos);
+                    start(selector, steps[s], ports[attempt++ % ports.length], scheduled);
+                    scheduled += (long) (1.0e9d / rate(s, (scheduled - timeStart) % stepNanos, stepNanos, from, to));
+                }
+
+                expire();
+                logSteps(scheduled < timeEnd ? (int) ((scheduled - timeStart) / stepNanos) : steps.length);
+
+                long wake = scheduled < timeEnd ? scheduled : Long.MAX_VALUE;
+                if (!pending.isEmpty()) wake = Math.min(wake, pending.peek().start + timeoutNanos);
+                if (wake == Long.MAX_VALUE) break;
+
+                // select waits whole ms, so a wait under one, as between connects above 1000 cps, is parked
+                long wait = wake - nanoTime();
+                if (wait >= 1_000_000L) {
+                    selector.select(wait / 1_000_000L);
+                } else {
+                    if (wait > 0L) LockSupport.parkNanos(wait);
+                    selector.selectNow();
+                }
+                ZingProbe.checkInterrupted();
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    finish((Pending) key.attachment());
+                }
+                selector.selectedKeys().clear();
+            }
+
+            logSteps(steps.length);
+        }
+
+        long timeZingClose = currentTimeMillis();
+
+        logSummary(hostName, timeZingClose - timeZingStart);
+    }
+
+    /**
+     * Get the target rate at a time into a step.
+     */
+    private double rate(final int s, final long intoStep, final long stepNanos, final int from, final int to) {
+        if (!ramp) return steps[s].rate;
+        return from + (to - from) * (s + intoStep / (double) stepNanos) / steps.length;
+    }
+
+    private void start(final Selector selector, final Step step, final int port, final long scheduled) {
+
+        SocketChannel channel = null;
+        step.attempted++;
+
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            // reset on close, so the local ephemeral ports are not all held in TIME_WAIT at a high rate
+            channel.setOption(StandardSocketOptions.SO_LINGER, 0);
+
+            long start = nanoTime();
+            generatorLag.add((start - scheduled) / 1_000_000.0d);
+            Pending p = new Pending(step, channel, scheduled, start);
+
+            if (channel.connect(new InetSocketAddress(inetAddr, port))) {
+                p.done = true;
+                step.times.add((nanoTime() - scheduled) / 1_000_000.0d);
+                close(channel);
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, p);
+                pending.add(p);
+                step.outstanding++;
+            }
+
+        } catch (ConnectException e) {
+            close(channel);
+            step.refused++;
+        } catch (IOException e) {
+            // local resources exhausted (descriptors, ephemeral ports), the load generator is the limit
+            close(channel);
+            step.errors++;
+        }
+    }
+
+    private void finish(final Pending p) {
+
+        if (p.done) return;
+        p.done = true;
+        p.step.outstanding--;
+
+        try {
+            if (p.channel.finishConnect()) {
+                p.step.times.add((nanoTime() - p.scheduled) / 1_000_000.0d);
+            }
+        } catch (ConnectException e) {
+            p.step.refused++;
+        } catch (IOException e) {
+            p.step.errors++;
+        } finally {
+            close(p.channel);
+        }
+    }
+
+    private void expire() {
+
+        long now = nanoTime();
+
+        while (!pending.isEmpty()) {
+            Pending p = pending.peek();
+            if (p.done) {
+                pending.poll();
+            } else if (now - p.start >= timeoutNanos) {
+                pending.poll();
+                p.done = true;
+                p.step.outstanding--;
+                p.step.timeouts++;
+                close(p.channel);
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Report each step before the current one in order, once none of its connects is in flight.
+     */
+    private void logSteps(final int current) {
+        for (int s = 0; s < current; s++) {
+            Step step = steps[s];
+            if (step.reported) continue;
+            if (step.outstanding > 0) return;
+            step.reported = true;
+            out.printf("#%d %,.0f cps: %d attempted, %,.1f cps achieved, %d refused, %d timeouts, %d errors; "
+                            + "p50/p95/p99 = %s ms%n", s + 1, step.rate, step.attempted, step.achieved(stepSeconds),
+                    step.refused, step.timeouts, step.errors, step.times.percentiles());
+        }
+    }
+
+    private static void close(final SocketChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing to recover, the descriptor is released either way
+        }
+    }
+
+    /**
+     * Find the first step where the host saturates, by achieved rate, failures, or tail connect time.
+     *
+     * @return index of the step, or -1 when no step saturates.
+     */
+    private int knee(final StringBuilder reason) {
+
+        double firstP99 = steps[0].times.size() > 0 ? steps[0].times.percentile(99.0d) : 0.0d;
+
+        for (int s = 0; s < steps.length; s++) {
+            Step step = steps[s];
+            if (step.achieved(stepSeconds) < KNEE_RATE * step.rate) {
+                reason.append("achieved rate below ").append((int) (KNEE_RATE * 100)).append("% of target");
+            } else if (step.refused + step.timeouts > KNEE_FAILURES * step.attempted) {
+                reason.append("refused and timed out above ").append((int) (KNEE_FAILURES * 100)).append("%");
+            } else if (firstP99 > 0.0d && step.times.percentile(99.0d) > KNEE_LATENCY * firstP99) {
+                reason.append("p99 above ").append((int) KNEE_LATENCY).append("x that of the first step");
+            }
+            if (reason.length() > 0) return s;
+        }
+
+        return -1;
+    }
+
+    private void logSummary(final String hostName, final long totalTime) {
+
+        int attempted = 0;
+        int connected = 0;
+        int refused = 0;
+        int timeouts = 0;
+        int errors = 0;
+        for (Step step : steps) {
+            attempted += step.attempted;
+            connected += step.times.size();
+            refused += step.refused;
+            timeouts += step.timeouts;
+            errors += step.errors;
+        }
+
+        out.printf("%n--- zing load summary for %s/%s ---%n", hostName, inetAddr.getHostAddress());
+        out.printf("%d connects attempted; %d connected, %d refused, %d timeouts, %d errors; total time: %d ms%n",
+                attempted, connected, refused, timeouts, errors, totalTime);
+        out.printf("generator-lag p50/p95/p99 = %s ms, max %.3f ms%n", generatorLag.percentiles(),
+                generatorLag.max());
+
+        StringBuilder reason = new StringBuilder();
+        int knee = knee(reason);
+        if (knee < 0) {
+            out.printf("no saturation up to %,.0f cps%n%n", steps[steps.length - 1].rate);
+        } else {
+            out.printf("saturation at step #%d, %,.0f cps: %s%n%n", knee + 1, steps[knee].rate, reason);
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * @(#)ZingPaths.java
+ *
+ * Title: ZingPaths - Zero packet pING path comparison across local addresses.
+ *
+ * Description: Zings a host from each of several local addresses or network
+ *     interfaces at the same time, and compares the zing times of each path.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+final class ZingPaths {
+
+    /**
+     * A local address zing leaves from, with the name it was given by on the command-line.
+     */
+    static final class LocalPath {
+        final String label;
+        final InetAddress localAddr;
+        final ZingStats times = new ZingStats();
+        int absent = 0;
+
+        LocalPath(String label, InetAddress localAddr) {
+            this.label = label;
+            this.localAddr = localAddr;
+        }
+    }
+
+    private final List<LocalPath> paths;
+    private final Integer[] ports;
+    private final int count;
+    private final int limit;
+    private final int timeout;
+    private final PrintStream out;
+
+    ZingPaths(final List<LocalPath> paths, final Integer[] ports, final int count, final int limit, final int timeout,
+              final PrintStream out) {
+        this.paths = paths;
+        this.ports = ports;
+        this.count = count;
+        this.limit = limit;
+        this.timeout = timeout;
+        this.out = out;
+    }
+
+    /**
+     * Get the local paths from a comma delimited list of local addresses and network interface names.
+     *
+     * @param tcp4Flag - take the TCP/IP-4 address of an interface, else the TCP/IP-6 address, the one of the widest
+     *     scope when the interface has several, so a global address over a link-local fe80:: one.
+     */
+    static List<LocalPath> parsePaths(final String list, final boolean tcp4Flag) throws SocketException,
+            UnknownHostException {
+
+        List<LocalPath> paths = new ArrayList<>();
+
+        for (String label : list.split(",")) {
+            label = label.trim();
+            NetworkInterface nif = NetworkInterface.getByName(label);
+            if (nif == null) {
+                paths.add(new LocalPath(label, InetAddress.getByName(label)));
+                continue;
+            }
+            InetAddress localAddr = Collections.list(nif.getInetAddresses()).stream()
+                    .filter(tcp4Flag ? Inet4Address.class::isInstance : Inet6Address.class::isInstance)
+                    .min(Comparator.comparingInt(ZingPaths::scope))
+                    .orElseThrow(() -> new UnknownHostException("No address on interface " + nif.getName()));
+            paths.add(new LocalPath(label, localAddr));
+        }
+
+        return paths;
+    }
+
+    /**
+     * Rank an address by its scope, global first and link-local last, as only a global address reaches a host
+     * beyond the link.
+     */
+    private static int scope(final InetAddress addr) {
+        if (addr.isLinkLocalAddress()) return 3;
+        if (addr.isLoopbackAddress()) return 2;
+        if (addr.isSiteLocalAddress() || (addr instanceof Inet6Address && (addr.getAddress()[0] & 0xfe) == 0xfc)) {
+            return 1; // private TCP/IP-4 or unique local TCP/IP-6
+        }
+        return 0;
+    }
+
+    /**
+     * Check each path can bind its local address and reach the family of the host, before any cycle, so a path
+     * that cannot is an error and not an absent host.
+     */
+    private void checkPaths(final InetAddress inetAddr) throws IOException {
+        for (LocalPath path : paths) {
+            if (path.localAddr.getClass() != inetAddr.getClass()) {
+                throw new IOException(String.format("path %s (%s) is not of the address family of %s", path.label,
+                        path.localAddr.getHostAddress(), inetAddr.getHostAddress()));
+            }
+            try (Socket socket = new Socket()) {
+                socket.bind(new InetSocketAddress(path.localAddr, 0));
+            } catch (IOException e) {
+                throw new IOException(String.format("cannot bind path %s (%s): %s", path.label,
+                        path.localAddr.getHostAddress(), e.getMessage()), e);
+            }
+        }
+    }
+
+    /**
+     * Zing the host over every path at the same time, cycle by cycle, and report the paths side by side.
+     */
+    void zing(final InetAddress inetAddr, final String hostName) throws Exception {
+
+        String hostAddr = inetAddr.getHostAddress();
+
+        checkPaths(inetAddr);
+
+        out.printf("ZING: %s (%s): %d ports used, %d ops per cycle, %d paths%n", hostName, hostAddr, ports.length,
+                (limit * ports.length), paths.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(paths.size());
+        long timeZingStart = currentTimeMillis();
+
+        try {
+            for (int x = 0; x < count; x++) {
+
+                List<Callable<Double>> cycle = new ArrayList<>();
+                for (LocalPath path : paths) cycle.add(() -> zingCycle(path, inetAddr));
+
+                out.printf("#%d ... %d ops to %s (%s):", x + 1, limit * ports.length, hostName, hostAddr);
+
+                List<Future<Double>> results = executor.invokeAll(cycle);
+                for (int p = 0; p < paths.size(); p++) {
+                    double time = results.get(p).get();
+                    out.printf(time >= 0.0d ? " %s = %,.3f ms" : " %s = Absent!", paths.get(p).label, time);
+                }
+                out.println();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long timeZingClose = currentTimeMillis();
+
+        logSummary(hostName, hostAddr, timeZingClose - timeZingStart);
+    }
+
+    private double zingCycle(final LocalPath path, final InetAddress inetAddr) {
+
+        double totalTime = 0.0d;
+        int present = 0;
+
+        for (int y = 0; y < limit; y++) {
+            for (int port : ports) {
+                double time = ZingProbe.connect(path.localAddr, inetAddr, port, timeout);
+                synchronized (path) {
+                    if (time >= 0.0d) {
+                        path.times.add(time);
+                        totalTime += time;
+                        present++;
+                    } else {
+                        path.absent++;
+                    }
+                }
+            }
+        }
+
+        return present > 0 ? totalTime / present : ZingProbe.ABSENT;
+    }
+
+    private void logSummary(final String hostName, final String hostAddr, final long totalTime) {
+
+        out.printf("%n--- zing path summary for %s/%s ---%n", hostName, hostAddr);
+        out.printf("%d total ops used per path; total time: %d ms%n", (ports.length * limit * count), totalTime);
+        out.printf("%-24s %-16s %8s  %-32s %s%n", "path", "local address", "absent", "min/avg/max/stddev ms",
+                "p50/p95/p99 ms");
+
+        for (LocalPath path : paths) {
+            out.printf("%-24s %-16s %8d  %-32s %s%n", path.label, path.localAddr.getHostAddress(),
+                    path.absent, path.times.summary(), path.times.percentiles());
+        }
+
+        out.println();
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * @(#)ZingProbe.java
+ *
+ * Title: ZingProbe - Zero packet pING connect probe.
+ *
+ * Description: Times one TCP connect and disconnect to a resolved address and
+ *     port, the zing op shared by the modes that probe many targets.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+final class ZingProbe {
+
+    static final double ABSENT = -1.0d; // zing time of a host that did not accept the connect
+
+    private ZingProbe() {}
+
+    /**
+     * Zing an address at a port, with the connect bounded by the timeout.
+     *
+     * @param inetAddr - resolved address of the host.
+     * @param port - port on the host.
+     * @param timeout - connect timeout in ms.
+     * @return zing time in ms, or ABSENT when the host refused or did not answer in time.
+     */
+    static double connect(final InetAddress inetAddr, final int port, final int timeout) {
+        return connect(null, inetAddr, port, timeout);
+    }
+
+    /**
+     * Zing an address at a port from a local address, with the connect bounded by the timeout.
+     *
+     * @param localAddr - local address the connect leaves from, or null for the one the routing table picks.
+     * @param inetAddr - resolved address of the host.
+     * @param port - port on the host.
+     * @param timeout - connect timeout in ms.
+     * @return zing time in ms, or ABSENT when the host refused or did not answer in time, or the thread is
+     *     interrupted.
+     */
+    static double connect(final InetAddress localAddr, final InetAddress inetAddr, final int port,
+                          final int timeout) {
+
+        if (Thread.currentThread().isInterrupted()) return ABSENT; // the run is stopped, its ops are not done
+
+        long timeStart = System.nanoTime();
+
+        try (Socket socket = new Socket()) {
+            if (localAddr != null) socket.bind(new InetSocketAddress(localAddr, 0));
+            socket.connect(new InetSocketAddress(inetAddr, port), timeout);
+        } catch (IOException e) {
+            return ABSENT;
+        }
+
+        return (System.nanoTime() - timeStart) / 1_000_000.0d;
+    }
+
+    /**
+     * Stop the selector loop of a run whose thread is interrupted, as a run served by the daemon is when its client
+     * is gone, since a select returns at once while its thread is interrupted.
+     */
+    static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) throw new InterruptedIOException("Zing stopped");
+    }
+
+}
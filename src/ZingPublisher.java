@@ -0,0 +1,197 @@
+/*
+ * @(#)ZingPublisher.java
+ *
+ * Title: ZingPublisher - Zero packet pING publisher of zing results.
+ *
+ * Description: Publishes the result of each zing op and each cycle of a zing of
+ *     a host to in-process subscribers as a Flow.Publisher. An op is performed
+ *     only when the subscriber has demand for its result, so a slow subscriber
+ *     slows the zing instead of results being buffered.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import java.net.InetAddress;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+final class ZingPublisher implements Flow.Publisher<ZingPublisher.Result> {
+
+    /**
+     * A result published to a subscriber, of one op or of one whole cycle.
+     */
+    sealed interface Result permits Op, Cycle {
+    }
+
+    /**
+     * Result of one zing op.
+     *
+     * @param time - zing time in ms, or ZingProbe.ABSENT when the host did not accept the connect.
+     */
+    record Op(int cycle, int port, double time) implements Result {
+
+        boolean present() {
+            return time >= 0.0d;
+        }
+    }
+
+    /**
+     * Result of one cycle, after the results of its ops. The min, avg, max, stddev and percentiles are in ms of every
+     * op present so far in the run, from a histogram with buckets under 1.6% wide, and 0.0 while none was.
+     *
+     * @param time - average zing time in ms of the ops present in the cycle, or ZingProbe.ABSENT when none was.
+     */
+    record Cycle(int cycle, int ops, int absent, double time, double min, double avg, double max, double stddev,
+                 double p50, double p95, double p99) implements Result {
+    }
+
+    private final InetAddress inetAddr;
+    private final Integer[] ports;
+    private final int count;
+    private final int limit;
+    private final int timeout;
+    private final Executor executor;
+
+    /**
+     * Publisher of the zing of a host, each subscriber gets its own zing of count cycles of limit ops on each port,
+     * run on a thread of its own.
+     */
+    ZingPublisher(final InetAddress inetAddr, final Integer[] ports, final int count, final int limit,
+                  final int timeout) {
+        this(inetAddr, ports, count, limit, timeout, runnable -> {
+            Thread thread = new Thread(runnable, "zing-publisher");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * @param executor - runs the zing of each subscriber from start to end.
+     */
+    ZingPublisher(final InetAddress inetAddr, final Integer[] ports, final int count, final int limit,
+                  final int timeout, final Executor executor) {
+        this.inetAddr = inetAddr;
+        this.ports = ports;
+        this.count = count;
+        this.limit = limit;
+        this.timeout = timeout;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Result> subscriber) {
+        Objects.requireNonNull(subscriber);
+        executor.execute(new Subscription(subscriber)::run);
+    }
+
+    /**
+     * Subscription of one subscriber, every signal to the subscriber is sent from the thread of run.
+     */
+    private final class Subscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Result> subscriber;
+        private long demand = 0L;           // results requested and not yet published
+        private boolean cancelled = false;
+        private IllegalArgumentException illegal = null;
+
+        Subscription(final Flow.Subscriber<? super Result> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(final long n) {
+            if (n <= 0L) {
+                if (illegal == null) illegal = new IllegalArgumentException("non-positive request of " + n);
+            } else {
+                demand = demand + n < 0L ? Long.MAX_VALUE : demand + n; // unbounded once it overflows
+            }
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        /**
+         * Wait until a result is requested, and take it from the demand.
+         *
+         * @return false when the subscription is cancelled or a request was illegal.
+         */
+        private synchronized boolean awaitDemand() throws InterruptedException {
+            while (demand == 0L && !cancelled && illegal == null) wait();
+            if (cancelled || illegal != null) return false;
+            demand--;
+            return true;
+        }
+
+        private void run() {
+
+            subscriber.onSubscribe(this);
+
+            try {
+                if (zing()) subscriber.onComplete();
+                else if (illegal != null) subscriber.onError(illegal);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                subscriber.onError(e);
+            }
+        }
+
+        /**
+         * Zing the host, publishing each result once it is requested.
+         *
+         * @return true when every result was published.
+         */
+        private boolean zing() throws InterruptedException {
+
+            // a histogram of the run keeps each cycle result O(1) in time and memory however long the run is
+            ZingSummary.Target run = new ZingSummary.Target();
+
+            for (int x = 1; x <= count; x++) {
+
+                double cycleTime = 0.0d;
+                int absent = 0;
+
+                for (int y = 0; y < limit; y++) {
+                    for (int port : ports) {
+                        // the op is only performed once its result is wanted, the zing keeps pace with the subscriber
+                        if (!awaitDemand()) return false;
+
+                        double time = ZingProbe.connect(inetAddr, port, timeout);
+                        if (time >= 0.0d) cycleTime += time;
+                        else absent++;
+                        run.record(time);
+
+                        subscriber.onNext(new Op(x, port, time));
+                    }
+                }
+
+                if (!awaitDemand()) return false;
+
+                int ops = limit * ports.length;
+                double time = absent < ops ? cycleTime / (ops - absent) : ZingProbe.ABSENT;
+                subscriber.onNext(new Cycle(x, ops, absent, time,
+                        run.count == 0 ? 0.0d : run.min / 1_000_000.0d, run.avg(), run.max / 1_000_000.0d,
+                        run.stddev(), run.percentile(50), run.percentile(95), run.percentile(99)));
+            }
+
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * @(#)ZingRank.java
+ *
+ * Title: ZingRank - Zero packet pING ranking of candidate hosts.
+ *
+ * Description: Zings candidate hosts at the same time with the same ops and ports,
+ *     drops the candidates that are clearly slower after a few rounds to save ops,
+ *     and ranks the candidates by zing time.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+final class ZingRank {
+
+    static final int MIN_ROUNDS = 3;  // rounds every candidate is zinged before any is dropped
+    static final double Z = 2.0d;     // standard errors apart for a candidate to be clearly slower
+
+    /**
+     * A candidate host with its zing times and the round it was dropped in, 0 while still in the running.
+     */
+    static final class Candidate {
+        final String host;
+        InetAddress inetAddr;
+        final ZingStats times = new ZingStats();
+        int absent = 0;
+        int droppedRound = 0;
+
+        Candidate(String host) {
+            this.host = host;
+        }
+
+        double stderr() {
+            return times.size() > 1 ? times.stddev() / Math.sqrt(times.size()) : Double.MAX_VALUE;
+        }
+    }
+
+    private final Integer[] ports;
+    private final int rounds;
+    private final int limit;
+    private final int timeout;
+    private final int jobs;
+    private final boolean tcp4Flag;
+    private final PrintStream out;
+
+    ZingRank(final Integer[] ports, final int rounds, final int limit, final int timeout, final int jobs,
+             final boolean tcp4Flag, final PrintStream out) {
+        this.ports = ports;
+        this.rounds = rounds;
+        this.limit = limit;
+        this.timeout = timeout;
+        this.jobs = jobs;
+        this.tcp4Flag = tcp4Flag;
+        this.out = out;
+    }
+
+    /**
+     * Rank the candidate hosts, fastest first.
+     *
+     * @param verbose - report each round and the ranking table, else only the fastest host.
+     * @return the candidates in rank order.
+     */
+    List<Candidate> rank(final List<String> hosts, final boolean verbose) throws InterruptedException {
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (String host : hosts) candidates.add(new Candidate(host));
+
+        // every name is looked up at once on the jobs of the resolver, and only then are the lookups joined
+        try (ZingResolver resolver = new ZingResolver(jobs, tcp4Flag)) {
+            List<CompletableFuture<InetAddress>> lookups = new ArrayList<>();
+            for (Candidate c : candidates) lookups.add(resolver.resolve(c.host));
+            for (int x = 0; x < candidates.size(); x++) {
+                Candidate c = candidates.get(x);
+                try {
+                    c.inetAddr = lookups.get(x).join();
+                } catch (CompletionException e) {
+                    c.droppedRound = -1; // unknown host, never zinged
+                }
+            }
+        }
+
+        if (verbose) {
+            out.printf("ZING RANK: %d candidates: %d ports used, %d ops per round%n", candidates.size(), ports.length,
+                    (limit * ports.length));
+        }
+
+        long timeZingStart = currentTimeMillis();
+        int ops = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(jobs, candidates.size())));
+
+        try {
+            for (int round = 1; round <= rounds; round++) {
+
+                List<Candidate> running = running(candidates);
+                if (running.isEmpty() || (running.size() == 1 && round > MIN_ROUNDS)) break;
+
+                List<Callable<Void>> zings = new ArrayList<>();
+                for (Candidate c : running) zings.add(() -> zingRound(c));
+                executor.invokeAll(zings);
+                ops += running.size() * limit * ports.length;
+
+                if (round >= MIN_ROUNDS) eliminate(running, round);
+
+                if (verbose) {
+                    out.printf("#%d ... %d candidates zinged, %d still running%n", round, running.size(),
+                            running(candidates).size());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long timeZingClose = currentTimeMillis();
+
+        // a candidate still running ranks above every dropped one, and a later drop above an earlier one, as the
+        // average of a dropped candidate is of fewer rounds and can be below that of the one that beat it
+        candidates.sort(Comparator.comparingInt((Candidate c) -> c.droppedRound == 0 ? Integer.MAX_VALUE
+                        : c.droppedRound).reversed()
+                .thenComparingInt(c -> c.times.size() > 0 ? 0 : 1)
+                .thenComparingDouble(c -> c.times.avg()));
+
+        if (verbose) logTable(candidates, ops, timeZingClose - timeZingStart);
+
+        return candidates;
+    }
+
+    private Void zingRound(final Candidate c) {
+        for (int y = 0; y < limit; y++) {
+            for (int port : ports) {
+                double time = ZingProbe.connect(c.inetAddr, port, timeout);
+                if (time >= 0.0d) c.times.add(time);
+                else c.absent++;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drop the candidates that are absent, or whose zing time is clearly above that of the fastest candidate.
+     */
+    private static void eliminate(final List<Candidate> running, final int round) {
+
+        Candidate best = null;
+        for (Candidate c : running) {
+            if (c.times.size() > 0 && (best == null || c.times.avg() < best.times.avg())) best = c;
+        }
+
+        for (Candidate c : running) {
+            if (c == best) continue;
+            if (best == null || c.times.size() == 0
+                    || c.times.avg() - Z * c.stderr() > best.times.avg() + Z * best.stderr()) {
+                c.droppedRound = round;
+            }
+        }
+    }
+
+    private static List<Candidate> running(final List<Candidate> candidates) {
+        List<Candidate> running = new ArrayList<>();
+        for (Candidate c : candidates) if (c.droppedRound == 0) running.add(c);
+        return running;
+    }
+
+    private void logTable(final List<Candidate> candidates, final int ops, final long totalTime) {
+
+        out.printf("%n--- zing rank of %d candidates ---%n", candidates.size());
+        out.printf("%d total ops used; total time: %d ms%n", ops, totalTime);
+        out.printf("%4s  %-32s %-16s %-12s %6s %6s  %s%n", "rank", "host", "address", "status", "ops", "absent",
+                "min/avg/max/stddev ms");
+
+        int rank = 1;
+        for (Candidate c : candidates) {
+            String status = c.droppedRound < 0 ? "unknown" : c.times.size() == 0 ? "absent"
+                    : c.droppedRound > 0 ? "dropped #" + c.droppedRound : "running";
+            out.printf("%4d  %-32s %-16s %-12s %6d %6d  %s%n", rank++, c.host,
+                    c.inetAddr == null ? "-" : c.inetAddr.getHostAddress(), status, c.times.size() + c.absent,
+                    c.absent, c.times.summary());
+        }
+
+        out.println();
+    }
+
+}
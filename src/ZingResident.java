@@ -0,0 +1,502 @@
+/*
+ * @(#)ZingResident.java
+ *
+ * Title: ZingResident - Zero packet pING of a resident set of target hosts.
+ *
+ * Description: Zings a resident set of target hosts until interrupted, each
+ *     target at its own interval, with every zing due driven by a hashed timing
+ *     wheel and handed to the probe threads in batches. The target file is
+ *     watched, and an edit is applied as a diff of only the changed targets.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+final class ZingResident {
+
+    static final int TICK = 10;          // ms of a wheel tick
+    static final int BUCKETS = 1024;     // buckets of the wheel, a turn of about 10 s
+    static final int BATCH = 64;         // targets handed to a probe thread at once
+    static final long REPORT = 10_000L;  // ms between the status lines
+    static final long SETTLE = 50L;      // ms a changed target file is left to settle before it is read
+
+    /**
+     * A target line of the target file, with its host resolved, only held while the file is read.
+     *
+     * @param interval - ns between zings of the targets of the line.
+     */
+    private record Line(String host, Integer[] ports, long interval, InetAddress inetAddr) {
+    }
+
+    /**
+     * The diff of the target file from the targets before it, as the rows of the target table with a new interval,
+     * waiting for the scheduler to apply it.
+     *
+     * @param rows - rows added, removed or with a new interval.
+     * @param intervals - new ns between zings of each of the rows, 0 for a row removed.
+     * @param changed - rows with a new interval or a new address, an address is set in the table as it is read.
+     * @param size - host:port targets in the file.
+     * @param timeStart - System.nanoTime() the file began to be read.
+     */
+    private record Reload(int[] rows, long[] intervals, int added, int removed, int changed, int size,
+                          long timeStart) {
+    }
+
+    private final Integer[] ports;
+    private final int timeout;
+    private final int jobs;
+    private final boolean tcp4Flag;
+    private final double interval;
+
+    private ZingTargetTable table = null;    // a row for each host:port target ever in the file, found by table.find
+    private long[] intervals = new long[0]; // ns between zings of each row, 0 once its target is removed
+    private volatile long[] fileIntervals = new long[0]; // intervals of the rows in the file as last read
+    private boolean[] busy = new boolean[0]; // true while a row is being zinged
+    private int live = 0;                    // rows of the targets in the target file
+    private ZingWheel wheel = null;
+    private ExecutorService probes = null;
+
+    private volatile boolean running = true;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final Queue<Reload> pending = new ConcurrentLinkedQueue<>();
+    private long timeStart = 0L;
+    private int reloads = 0;
+
+    private final AtomicLong probeCount = new AtomicLong();
+    private final AtomicLong absentCount = new AtomicLong();
+    private long batches = 0L;
+    private long skipped = 0L; // rows due again while still being zinged
+    private long late = 0L;    // rows due a whole interval or more after their deadline
+
+    // scheduling lag, the time from the deadline of a row to its dispatch
+    private ZingStats windowLag = new ZingStats();
+    private long lagCount = 0L;
+    private double lagSum = 0.0d;
+    private double lagMax = 0.0d;
+
+    private final int[] batch = new int[BATCH];
+    private int batchSize = 0;
+
+    /**
+     * @param interval - default seconds between zings of a target without its own interval.
+     */
+    ZingResident(final Integer[] ports, final int timeout, final int jobs, final boolean tcp4Flag,
+                 final double interval) {
+        this.ports = ports;
+        this.timeout = timeout;
+        this.jobs = jobs;
+        this.tcp4Flag = tcp4Flag;
+        this.interval = interval;
+    }
+
+    /**
+     * Zing the targets of the file until interrupted, watching the file for edits. Each target line is a host name,
+     * optionally its own interval in seconds or - for the default, and optionally its own ports.
+     */
+    void zing(final String fileName) throws IOException, InterruptedException {
+
+        long timeZingStart = currentTimeMillis();
+        Path path = Paths.get(fileName).toAbsolutePath();
+
+        load(path);
+
+        out.printf("ZING RESIDENT: %s: %d ports used, %d host:port targets, every %s s by default; watching for edits%n",
+                fileName, ports.length, live, formatSeconds(interval));
+
+        Thread scheduler = Thread.currentThread();
+        WatchService watcher = FileSystems.getDefault().newWatchService();
+        Thread watch = new Thread(() -> watch(watcher, path, scheduler), "zing-resident-watch");
+        watch.setDaemon(true);
+        watch.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            running = false;
+            LockSupport.unpark(scheduler);
+            try {
+                stopped.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            logSummary(fileName, currentTimeMillis() - timeZingStart);
+        }, "zing-resident-summary"));
+
+        try {
+            schedule();
+        } finally {
+            watcher.close();
+            probes.shutdownNow();
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Read the target file and resolve its hosts, a host that does not resolve is reported and left out. A line that
+     * cannot be parsed fails the whole read, before anything is changed.
+     *
+     * @return each target line in the order of the file.
+     */
+    private List<Line> parse(final Path path) throws IOException {
+
+        List<String> lines = ZingBulk.readTargetLines(path.toString());
+        List<Line> parsed = new ArrayList<>(lines.size());
+
+        try (ZingResolver resolver = new ZingResolver(jobs, tcp4Flag)) {
+
+            List<CompletableFuture<InetAddress>> lookups = new ArrayList<>(lines.size());
+            for (String line : lines) lookups.add(resolver.resolve(line.split("\\s+")[0]));
+
+            for (int x = 0; x < lines.size(); x++) {
+                String line = lines.get(x);
+                String[] fields = line.split("\\s+");
+                long every;
+                Integer[] linePorts;
+                try {
+                    every = (long) ((fields.length > 1 && !fields[1].equals("-") ? Double.parseDouble(fields[1])
+                            : interval) * 1.0e9d);
+                    if (every <= 0L) throw new IllegalArgumentException();
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("interval of " + line);
+                }
+                try {
+                    linePorts = fields.length > 2 ? Zing2.parsePorts(fields[2]) : ports;
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("ports of " + line);
+                }
+
+                InetAddress inetAddr;
+                try {
+                    inetAddr = lookups.get(x).join();
+                } catch (CompletionException e) {
+                    out.printf(" %s: Unknown host%n", fields[0]);
+                    continue;
+                }
+
+                parsed.add(new Line(fields[0], linePorts, every, inetAddr));
+            }
+        }
+
+        return parsed;
+    }
+
+    /**
+     * Diff the target lines from the targets as last read, by the row of each host:port target in the table. A new
+     * target is added to the table, and a target whose host resolved to a new address has it set, so a target
+     * added back is zinged at its address now and not at the one it had.
+     */
+    private Reload diff(final List<Line> lines, final long timeEdit) {
+
+        long[] next = new long[table.size()];
+        BitSet moved = new BitSet();
+
+        for (Line line : lines) {
+            for (int port : line.ports()) {
+                int row = table.find(line.host(), port);
+                if (row < 0) {
+                    row = table.add(line.host(), line.inetAddr(), port);
+                } else if (!table.address(row).equals(line.inetAddr())) {
+                    table.setAddress(row, line.inetAddr());
+                    moved.set(row);
+                }
+                if (row >= next.length) next = Arrays.copyOf(next, Math.max(16, Math.max(row + 1, 2 * next.length)));
+                next[row] = line.interval();
+            }
+        }
+
+        int n = table.size();
+        long[] before = Arrays.copyOf(fileIntervals, n);
+        next = Arrays.copyOf(next, n);
+
+        int[] rows = new int[n];
+        long[] rowIntervals = new long[n];
+        int k = 0;
+        int added = 0;
+        int removed = 0;
+        int changed = 0;
+        int size = 0;
+
+        for (int row = 0; row < n; row++) {
+            if (next[row] != 0L) size++;
+            if (next[row] != before[row]) {
+                rows[k] = row;
+                rowIntervals[k++] = next[row];
+                if (before[row] == 0L) added++;
+                else if (next[row] == 0L) removed++;
+                else changed++;
+            } else if (next[row] != 0L && moved.get(row)) {
+                changed++;
+            }
+        }
+
+        fileIntervals = next;
+        return new Reload(Arrays.copyOf(rows, k), Arrays.copyOf(rowIntervals, k), added, removed, changed, size,
+                timeEdit);
+    }
+
+    private void load(final Path path) throws IOException {
+
+        List<Line> lines = parse(path);
+        int targets = 0;
+        for (Line line : lines) targets += line.ports().length;
+
+        table = new ZingTargetTable(targets);
+        wheel = new ZingWheel(TICK, BUCKETS, targets);
+        probes = Executors.newFixedThreadPool(jobs, runnable -> {
+            Thread thread = new Thread(runnable, "zing-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        timeStart = nanoTime();
+        apply(diff(lines, timeStart), timeStart);
+    }
+
+    /**
+     * Get the offset of the first zing of a row within its interval, spread so that targets with the same interval
+     * are not all due at once.
+     */
+    private long phase(final int row) {
+        return (long) (((row * 0.6180339887d) % 1.0d) * intervals[row]);
+    }
+
+    /**
+     * Watch the directory of the target file, and after each edit read and resolve the file and diff it from the
+     * targets before it, for the scheduler to apply only the diff. A file that cannot be read is reported and the
+     * targets are left as they are.
+     */
+    private void watch(final WatchService watcher, final Path path, final Thread scheduler) {
+
+        try {
+            path.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+
+            while (running) {
+
+                WatchKey key = watcher.take();
+                boolean edited = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (path.getFileName().equals(event.context())) edited = true;
+                }
+                key.reset();
+                if (!edited) continue;
+
+                // an editor writes a file in more than one step, so let it settle and take the events of the rest
+                Thread.sleep(SETTLE);
+                WatchKey rest;
+                while ((rest = watcher.poll(SETTLE, TimeUnit.MILLISECONDS)) != null) {
+                    rest.pollEvents();
+                    rest.reset();
+                }
+
+                if (!Files.exists(path)) continue;
+
+                long timeEdit = nanoTime();
+
+                try {
+                    pending.add(diff(parse(path), timeEdit));
+                    LockSupport.unpark(scheduler);
+                } catch (IOException | RuntimeException e) {
+                    out.printf(".. Error: Cannot reload targets from %s: %s; the targets are unchanged%n", path,
+                            e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            out.printf(".. Error: Cannot watch %s: %s%n", path, e.getMessage());
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // the watch ends with the run
+        }
+    }
+
+    /**
+     * Apply the diff of a reload: a removed row leaves the wheel, an added row is scheduled, a row with a new
+     * interval is rescheduled, and every other row keeps its stats and schedule. A target added back gets its old
+     * row and the stats in it.
+     */
+    private void apply(final Reload reload, final long now) {
+
+        if (table.size() > intervals.length) {
+            intervals = Arrays.copyOf(intervals, Math.max(16, Math.max(table.size(), 2 * intervals.length)));
+            growBusy(intervals.length);
+        }
+
+        for (int x = 0; x < reload.rows().length; x++) {
+            int row = reload.rows()[x];
+            long every = reload.intervals()[x];
+            if (intervals[row] == 0L) {
+                live++;
+            } else {
+                wheel.cancel(row);
+                if (every == 0L) live--;
+            }
+            intervals[row] = every;
+            if (every > 0L) wheel.schedule(row, now + phase(row));
+        }
+    }
+
+    private void logReload(final Reload reload, final long now) {
+        long timeApplied = nanoTime();
+        reloads++;
+        out.printf("[%.1f s] reload %d in %.1f ms, applied in %.3f ms: +%d added, -%d removed, ~%d changed; "
+                        + "%d host:port targets%n", (now - timeStart) / 1.0e9d, reloads,
+                (timeApplied - reload.timeStart()) / 1_000_000.0d, (timeApplied - now) / 1_000_000.0d,
+                reload.added(), reload.removed(), reload.changed(), live);
+    }
+
+    private void schedule() {
+
+        long nextReport = timeStart + REPORT * 1_000_000L;
+
+        while (running) {
+
+            long now = nanoTime();
+
+            Reload reload;
+            while ((reload = pending.poll()) != null) {
+                apply(reload, now);
+                logReload(reload, now);
+            }
+
+            wheel.advance(now, (row, deadline) -> due(row, deadline, now));
+            flush();
+
+            if (now >= nextReport) {
+                logWindow((now - timeStart) / 1.0e9d);
+                nextReport += REPORT * 1_000_000L;
+            }
+
+            long wait = wheel.nextTick() - nanoTime();
+            if (wait > 0L) LockSupport.parkNanos(wait);
+        }
+    }
+
+    /**
+     * Reschedule a row that is due at its next deadline, and add it to the batch unless its last zing is still running.
+     */
+    private void due(final int row, final long deadline, final long now) {
+
+        double lag = (now - deadline) / 1_000_000.0d;
+        windowLag.add(lag);
+        lagCount++;
+        lagSum += lag;
+        lagMax = Math.max(lagMax, lag);
+
+        // the next deadline keeps to the phase of the row, so a late dispatch does not drift every later one
+        long every = intervals[row];
+        long nextDeadline = deadline + every;
+        if (nextDeadline <= now) {
+            late++;
+            nextDeadline += ((now - nextDeadline) / every + 1) * every;
+        }
+        wheel.schedule(row, nextDeadline);
+
+        if (!tryBusy(row)) {
+            skipped++;
+            return;
+        }
+
+        batch[batchSize++] = row;
+        if (batchSize == BATCH) flush();
+    }
+
+    private void flush() {
+
+        if (batchSize == 0) return;
+
+        int[] rows = Arrays.copyOf(batch, batchSize);
+        batchSize = 0;
+        batches++;
+
+        probes.execute(() -> {
+            for (int row : rows) {
+                double time = ZingProbe.connect(table.address(row), table.port(row), timeout);
+                table.record(row, time);
+                probeCount.incrementAndGet();
+                if (time < 0.0d) absentCount.incrementAndGet();
+                clearBusy(row);
+            }
+        });
+    }
+
+    private synchronized boolean tryBusy(final int row) {
+        if (busy[row]) return false;
+        busy[row] = true;
+        return true;
+    }
+
+    private synchronized void clearBusy(final int row) {
+        busy[row] = false;
+    }
+
+    private synchronized void growBusy(final int size) {
+        busy = Arrays.copyOf(busy, size);
+    }
+
+    private void logWindow(final double seconds) {
+        out.printf("[%.1f s] %,d probes in %,d batches, %,d absent; schedule-lag p50/p95/p99 = %s ms, max %.3f ms%n",
+                seconds, probeCount.get(), batches, absentCount.get(), windowLag.percentiles(), windowLag.max());
+        windowLag = new ZingStats();
+    }
+
+    private void logSummary(final String fileName, final long totalTime) {
+
+        int active = 0;
+        for (int row = 0; row < Math.min(table.size(), intervals.length); row++) {
+            if (intervals[row] > 0L && table.ops(row) > table.absent(row)) active++;
+        }
+
+        // the targets are held only as columns, of the table, the wheel, and the intervals and busy flags of a row
+        long bytes = table.bytes() + wheel.bytes() + 9L * intervals.length + 8L * fileIntervals.length;
+
+        out.printf("%n--- zing resident summary for %s ---%n", fileName);
+        out.printf("%d host:port targets, %d active, %d reloads; %,d probes in %,d batches, %,d absent; "
+                        + "total time: %d ms%n", live, active, reloads, probeCount.get(), batches, absentCount.get(),
+                totalTime);
+        out.printf("schedule-lag avg/max = %.3f/%.3f ms; %d late by an interval, %d skipped while busy%n",
+                lagCount > 0 ? lagSum / lagCount : 0.0d, lagMax, late, skipped);
+        out.printf("targets and schedule: %d host:port targets in %,d bytes, %.1f bytes per target", table.size(),
+                bytes, bytes / (double) Math.max(1, table.size()));
+        out.printf("%n%n");
+    }
+
+    private static String formatSeconds(final double seconds) {
+        return seconds == Math.rint(seconds) ? Long.toString((long) seconds) : Double.toString(seconds);
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * @(#)ZingResolver.java
+ *
+ * Title: ZingResolver - Zero packet pING concurrent host name resolution.
+ *
+ * Description: Resolves host names on a bounded pool of threads, resolving each
+ *     distinct name only once, and measures the resolution time and failures.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+final class ZingResolver implements AutoCloseable {
+
+    private final ExecutorService pool;
+    private final boolean tcp4Flag;
+    private final Map<String, CompletableFuture<InetAddress>> names = new ConcurrentHashMap<>(); // in flight
+    private final ZingSummary.Target resolveTimes = new ZingSummary.Target();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * @param threads - number of names resolved at the same time.
+     * @param tcp4Flag - resolve to a TCP/IP-4 address, else a TCP/IP-6 address.
+     */
+    ZingResolver(final int threads, final boolean tcp4Flag) {
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "zing-resolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tcp4Flag = tcp4Flag;
+    }
+
+    /**
+     * Resolve a host name, a name asked for while it is looked up shares that lookup. A lookup is forgotten once it
+     * completes, so the resolver holds nothing per name, and a name asked for again is looked up again from the
+     * address cache of the JVM.
+     *
+     * @return future completed with the address, or exceptionally with UnknownHostException.
+     */
+    CompletableFuture<InetAddress> resolve(final String hostName) {
+        CompletableFuture<InetAddress> lookup = names.computeIfAbsent(hostName, name -> {
+            lookups.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> lookup(name), pool);
+        });
+        lookup.whenComplete((inetAddr, error) -> names.remove(hostName, lookup));
+        return lookup;
+    }
+
+    private InetAddress lookup(final String hostName) {
+
+        long timeStart = System.nanoTime();
+        InetAddress inetAddr = null;
+
+        try {
+            inetAddr = Stream.of(InetAddress.getAllByName(hostName))
+                    .filter(tcp4Flag ? Inet4Address.class::isInstance : Inet6Address.class::isInstance)
+                    .findFirst().orElse(null);
+        } catch (UnknownHostException e) {
+            // reported below as a failure like a name without an address of the family
+        }
+
+        double time = (System.nanoTime() - timeStart) / 1_000_000.0d;
+        synchronized (resolveTimes) {
+            resolveTimes.record(time);
+        }
+
+        if (inetAddr == null) {
+            failures.incrementAndGet();
+            throw new IllegalStateException(new UnknownHostException(hostName));
+        }
+
+        return inetAddr;
+    }
+
+    /**
+     * Get the histogram of the lookup times so far.
+     */
+    ZingSummary.Target times() {
+        synchronized (resolveTimes) {
+            ZingSummary.Target copy = new ZingSummary.Target();
+            copy.merge(resolveTimes);
+            return copy;
+        }
+    }
+
+    int lookups() {
+        return lookups.get();
+    }
+
+    int failures() {
+        return failures.get();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+}
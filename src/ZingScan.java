@@ -0,0 +1,260 @@
+/*
+ * @(#)ZingScan.java
+ *
+ * Title: ZingScan - Zero packet pING port-range scan with adaptive concurrency.
+ *
+ * Description: Scans a range of ports on a host with a window of concurrent
+ *     non-blocking connects that grows additively while the host answers and
+ *     shrinks multiplicatively on timeouts or local connect failures.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+
+final class ZingScan {
+
+    static final int MIN_WINDOW = 1;          // never fewer than one connect in flight
+    static final int MAX_WINDOW = 1024;       // upper bound on concurrent connects
+    static final int INITIAL_WINDOW = 8;      // connects in flight when the scan starts
+
+    private final InetAddress inetAddr;
+    private final Integer[] ports;
+    private final long timeoutNanos;
+    private final PrintStream out;
+
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>(); // in-flight connects in deadline order
+    private final ArrayDeque<Integer> retry = new ArrayDeque<>();   // ports that failed locally before a SYN was sent
+    private final ZingStats open = new ZingStats();                 // connect time in ms of each open port
+
+    private double window = INITIAL_WINDOW;
+    private double threshold = MAX_WINDOW;    // slow-start threshold, lowered on the first congestion signal
+    private int peakWindow = INITIAL_WINDOW;
+    private long completionsSinceDecrease = Integer.MAX_VALUE;
+    private int inFlight = 0;
+    private int closed = 0;
+    private int filtered = 0;
+    private int failed = 0;
+
+    /**
+     * A connect in flight, with the time it was started.
+     */
+    private static final class Pending {
+        final int port;
+        final SocketChannel channel;
+        final long start;
+        boolean done;
+
+        Pending(int port, SocketChannel channel, long start) {
+            this.port = port;
+            this.channel = channel;
+            this.start = start;
+        }
+    }
+
+    ZingScan(final InetAddress inetAddr, final Integer[] ports, final int timeout, final PrintStream out) {
+        this.inetAddr = inetAddr;
+        this.ports = ports;
+        this.timeoutNanos = timeout * 1_000_000L;
+        this.out = out;
+    }
+
+    /**
+     * Scan every port and report each open port as soon as its connect completes.
+     *
+     * @param hostName - host name printed in the scan header and summary.
+     */
+    void scan(final String hostName) throws IOException {
+
+        out.printf("ZING SCAN: %s (%s): %d ports, timeout %d ms%n",
+                hostName, inetAddr.getHostAddress(), ports.length, timeoutNanos / 1_000_000L);
+
+        long timeScanStart = currentTimeMillis();
+
+        try (Selector selector = Selector.open()) {
+
+            int next = 0;
+
+            while (next < ports.length || !retry.isEmpty() || inFlight > 0) {
+
+                while (inFlight < (int) window && (!retry.isEmpty() || next < ports.length)) {
+                    int port = retry.isEmpty() ? ports[next++] : retry.poll();
+                    if (!start(selector, port)) break;
+                }
+
+                expire();
+
+                if (inFlight == 0) {
+                    // nothing could be started at the smallest window, do not spin on a local failure
+                    if (!retry.isEmpty()) {
+                        retry.poll();
+                        failed++;
+                    }
+                    continue;
+                }
+
+                long wait = Math.max(1L, (pending.peek().start + timeoutNanos - nanoTime()) / 1_000_000L);
+                selector.select(wait);
+                ZingProbe.checkInterrupted();
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    finish((Pending) key.attachment());
+                }
+                selector.selectedKeys().clear();
+            }
+        }
+
+        long timeScanClose = currentTimeMillis();
+
+        logSummary(hostName, timeScanClose - timeScanStart);
+    }
+
+    private boolean start(final Selector selector, final int port) {
+
+        SocketChannel channel = null;
+
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+
+            long start = nanoTime();
+            Pending p = new Pending(port, channel, start);
+
+            if (channel.connect(new InetSocketAddress(inetAddr, port))) {
+                p.done = true;
+                channel.close();
+                onOpen(p, nanoTime());
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, p);
+                pending.add(p);
+                inFlight++;
+            }
+            return true;
+
+        } catch (ConnectException e) {
+            close(channel);
+            closed++;
+            onAnswer();
+            return true;
+        } catch (IOException e) {
+            // local resources exhausted (descriptors, ephemeral ports), back off and try again later
+            close(channel);
+            retry.add(port);
+            onCongestion();
+            return false;
+        }
+    }
+
+    private void finish(final Pending p) {
+
+        if (p.done) return;
+        p.done = true;
+        inFlight--;
+
+        try {
+            if (p.channel.finishConnect()) {
+                onOpen(p, nanoTime());
+            }
+        } catch (ConnectException e) {
+            closed++;
+            onAnswer();
+        } catch (IOException e) {
+            failed++;
+            onCongestion();
+        } finally {
+            close(p.channel);
+        }
+    }
+
+    private void expire() {
+
+        long now = nanoTime();
+
+        while (!pending.isEmpty()) {
+            Pending p = pending.peek();
+            if (p.done) {
+                pending.poll();
+            } else if (now - p.start >= timeoutNanos) {
+                pending.poll();
+                p.done = true;
+                inFlight--;
+                close(p.channel);
+                filtered++;
+                onCongestion();
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void onOpen(final Pending p, final long end) {
+        double time = (end - p.start) / 1_000_000.0d;
+        open.add(time);
+        out.printf(" port %d open time = %,.3f ms%n", p.port, time);
+        onAnswer();
+    }
+
+    /**
+     * Additive increase: one more connect per answer below the threshold, one more per window of answers above it.
+     */
+    private void onAnswer() {
+        completionsSinceDecrease++;
+        window += (window < threshold) ? 1.0d : 1.0d / window;
+        window = Math.min(window, MAX_WINDOW);
+        peakWindow = Math.max(peakWindow, (int) window);
+    }
+
+    /**
+     * Multiplicative decrease, at most once per window of completions so one burst of losses only halves once.
+     */
+    private void onCongestion() {
+        if (completionsSinceDecrease++ < (long) window) return;
+        threshold = Math.max(MIN_WINDOW, window / 2.0d);
+        window = threshold;
+        completionsSinceDecrease = 0;
+    }
+
+    private static void close(final SocketChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing to recover, the descriptor is released either way
+        }
+    }
+
+    private void logSummary(final String hostName, final long totalTime) {
+
+        out.printf("%n--- zing scan summary for %s/%s ---%n", hostName, inetAddr.getHostAddress());
+        out.printf("%d ports scanned; %d open, %d closed, %d filtered, %d failed; total time: %d ms%n",
+                ports.length, open.size(), closed, filtered, failed, totalTime);
+
+        if (open.size() > 0) {
+            out.printf("connect-time min/avg/max/stddev = %s ms%n", open.summary());
+        }
+
+        out.printf("peak window %d connects in flight%n%n", peakWindow);
+    }
+
+}
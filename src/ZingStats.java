@@ -0,0 +1,114 @@
+/*
+ * @(#)ZingStats.java
+ *
+ * Title: ZingStats - Zero packet pING sample statistics.
+ *
+ * Description: Growable table of zing times in milliseconds with the minimum,
+ *     average, maximum, standard deviation and percentiles used in summaries.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import java.util.Arrays;
+
+final class ZingStats {
+
+    private double[] values = new double[16];
+    private int size = 0;
+    private double[] sorted = null; // sorted copy for percentiles, dropped on every add
+
+    void add(final double value) {
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size++] = value;
+        sorted = null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    double min() {
+        double min = Double.MAX_VALUE;
+        for (int x = 0; x < size; x++) min = Math.min(min, values[x]);
+        return size == 0 ? 0.0d : min;
+    }
+
+    double max() {
+        double max = 0.0d;
+        for (int x = 0; x < size; x++) max = Math.max(max, values[x]);
+        return max;
+    }
+
+    double avg() {
+        double sum = 0.0d;
+        for (int x = 0; x < size; x++) sum += values[x];
+        return size == 0 ? 0.0d : sum / size;
+    }
+
+    /**
+     * Calculate the population standard deviation of the zing times, the statistical measure of variability.
+     */
+    double stddev() {
+        if (size == 0) return 0.0d;
+        double avg = avg();
+        double dv = 0.0d;
+        for (int x = 0; x < size; x++) {
+            double dm = values[x] - avg;
+            dv += dm * dm;
+        }
+        return Math.sqrt(dv / size);
+    }
+
+    /**
+     * Get the nearest-rank percentile of the zing times.
+     *
+     * @param pct - percentile from 0 to 100.
+     */
+    double percentile(final double pct) {
+        if (size == 0) return 0.0d;
+        if (sorted == null) {
+            sorted = toArray();
+            Arrays.sort(sorted);
+        }
+        return percentile(sorted, pct);
+    }
+
+    /**
+     * Get the nearest-rank percentile of zing times that are already sorted.
+     */
+    static double percentile(final double[] sorted, final double pct) {
+        if (sorted.length == 0) return 0.0d;
+        int rank = (int) Math.ceil(pct / 100.0d * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+
+    /**
+     * Format as min/avg/max/stddev in the summary style of zing.
+     */
+    String summary() {
+        return String.format("%.3f/%.3f/%.3f/%.3f", min(), avg(), max(), stddev());
+    }
+
+    /**
+     * Format as p50/p95/p99 in the summary style of zing.
+     */
+    String percentiles() {
+        return String.format("%.3f/%.3f/%.3f", percentile(50), percentile(95), percentile(99));
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * @(#)ZingStream.java
+ *
+ * Title: ZingStream - Zero packet pING pipeline from stdin to stdout.
+ *
+ * Description: Zings the target hosts read from a stream, such as stdin, and
+ *     writes a result line for each target as soon as it completes. The targets
+ *     are read lazily with a bounded number in flight, so memory does not grow
+ *     with the length of the stream.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+final class ZingStream {
+
+    static final int BATCH = 256;           // result lines written and flushed at once
+    static final long FLUSH_MILLIS = 100L;  // longest a result line waits for its batch to fill
+    static final int QUEUE = 4 * BATCH;     // result lines waiting to be written, zinging waits when full
+
+    private static final String END = "";   // queued after the last result line
+
+    private final Integer[] ports;
+    private final int count;
+    private final int limit;
+    private final int timeout;
+    private final int jobs;
+    private final boolean tcp4Flag;
+
+    private final BlockingQueue<String> results = new ArrayBlockingQueue<>(QUEUE);
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger absent = new AtomicInteger();
+    private final AtomicInteger unknown = new AtomicInteger();
+    private long batches = 0L;
+    private volatile boolean closed = false; // set when the output is closed, such as by head, and zinging stops
+
+    /**
+     * @param jobs - targets zinged at the same time, also the most targets read ahead of their results.
+     */
+    ZingStream(final Integer[] ports, final int count, final int limit, final int timeout, final int jobs,
+               final boolean tcp4Flag) {
+        this.ports = ports;
+        this.count = count;
+        this.limit = limit;
+        this.timeout = timeout;
+        this.jobs = jobs;
+        this.tcp4Flag = tcp4Flag;
+    }
+
+    /**
+     * Zing each target line of the input, writing a tab separated result line for each target to the output in the
+     * order the targets complete: host, address, active or absent or unknown, and the average zing time in ms.
+     * The header and summary are written to stderr so the output holds only result lines.
+     */
+    void zing(final InputStream input, final PrintStream output) throws IOException, InterruptedException {
+
+        err.printf("ZING STREAM: %d ports used, %d ops per target, %d targets in flight%n", ports.length,
+                (count * limit * ports.length), jobs);
+
+        long timeZingStart = currentTimeMillis();
+
+        Semaphore inFlight = new Semaphore(jobs);
+        ExecutorService probes = Executors.newFixedThreadPool(jobs);
+        int targets = 0;
+
+        Thread writer = new Thread(() -> write(output, probes, inFlight), "zing-stream-writer");
+        writer.start();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+
+            String line;
+            while (!closed && (line = reader.readLine()) != null) {
+
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == '#') continue;
+
+                // the next line is read only once a target in flight completes
+                inFlight.acquire();
+                if (closed) break;
+
+                String target = line.split("\\s+")[0];
+                try {
+                    probes.execute(() -> {
+                        try {
+                            results.put(zingTarget(target));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // the output was closed after the check above, and the probes shut down
+                    inFlight.release();
+                    break;
+                }
+                targets++;
+            }
+        } finally {
+            probes.shutdown();
+            probes.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            results.put(END);
+            writer.join();
+        }
+
+        long timeZingClose = currentTimeMillis();
+
+        if (closed) err.printf("%nOutput closed, zinging stopped after %d targets.%n", targets);
+        err.printf("%n--- zing stream summary for %d targets ---%n", targets);
+        err.printf("%d active, %d absent, %d unknown; %d batches written; total time: %d ms%n%n", active.get(),
+                absent.get(), unknown.get(), batches, timeZingClose - timeZingStart);
+    }
+
+    private String zingTarget(final String target) {
+
+        InetAddress inetAddr;
+        try {
+            inetAddr = Stream.of(InetAddress.getAllByName(target))
+                    .filter(tcp4Flag ? Inet4Address.class::isInstance : Inet6Address.class::isInstance)
+                    .findFirst().orElse(null);
+        } catch (UnknownHostException e) {
+            inetAddr = null;
+        }
+
+        if (inetAddr == null) {
+            unknown.incrementAndGet();
+            return target + "\t-\tunknown\t-";
+        }
+
+        double sum = 0.0d;
+        int present = 0;
+
+        for (int x = 0; x < count * limit; x++) {
+            for (int port : ports) {
+                double time = ZingProbe.connect(inetAddr, port, timeout);
+                if (time >= 0.0d) {
+                    sum += time;
+                    present++;
+                }
+            }
+        }
+
+        if (present == 0) {
+            absent.incrementAndGet();
+            return target + "\t" + inetAddr.getHostAddress() + "\tabsent\t-";
+        }
+
+        active.incrementAndGet();
+        return String.format("%s\t%s\tactive\t%.3f", target, inetAddr.getHostAddress(), sum / present);
+    }
+
+    /**
+     * Write the result lines in batches, each batch is flushed when full or when its first line has waited long enough.
+     * A PrintStream keeps an error such as EPIPE to itself, so it is checked after each flush, and once the output is
+     * closed no more lines are read, the probes waiting to start are cancelled and the later results are dropped.
+     * A probe cancelled before it starts never releases its target in flight, so it is released here for the reader.
+     */
+    private void write(final PrintStream output, final ExecutorService probes, final Semaphore inFlight) {
+
+        List<String> batch = new ArrayList<>(BATCH);
+        StringBuilder sb = new StringBuilder();
+        boolean done = false;
+
+        try {
+            while (!done) {
+
+                String first = results.take();
+                batch.add(first);
+
+                long flushAt = nanoTime() + FLUSH_MILLIS * 1_000_000L;
+                while (batch.size() < BATCH && !END.equals(batch.get(batch.size() - 1))) {
+                    long wait = flushAt - nanoTime();
+                    if (results.drainTo(batch, BATCH - batch.size()) > 0) continue;
+                    String next = wait > 0L ? results.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                for (String result : batch) {
+                    if (END.equals(result)) {
+                        done = true;
+                        break;
+                    }
+                    sb.append(result).append('\n');
+                }
+
+                if (sb.length() > 0 && !closed) {
+                    output.print(sb);
+                    output.flush();
+                    batches++;
+                    if (output.checkError()) {
+                        closed = true;
+                        inFlight.release(probes.shutdownNow().size());
+                    }
+                }
+
+                sb.setLength(0);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
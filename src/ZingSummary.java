@@ -0,0 +1,309 @@
+/*
+ * @(#)ZingSummary.java
+ *
+ * Title: ZingSummary - Zero packet pING mergeable summary.
+ *
+ * Description: Summary of the zing times of each host and port target as a
+ *     log-linear histogram with the count, sum, sum of squares, min, max and
+ *     absent count, saved to a compact file that merges with the summaries of
+ *     other runs and agents into exact global counts and percentiles.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+final class ZingSummary {
+
+    static final int SUB_BITS = 6;                  // 64 sub-buckets per power of two, under 1.6% relative error
+    static final String HEADER = "# zing summary 1"; // first line of a summary file, with the format version
+
+    /**
+     * Histogram and moments of the zing times of one host and port target, times are kept in ns.
+     */
+    static final class Target {
+        long count = 0L;
+        long absent = 0L;
+        long sum = 0L;
+        double sumSquares = 0.0d;
+        long min = Long.MAX_VALUE;
+        long max = 0L;
+        long[] buckets = new long[0];
+
+        void record(final double time) {
+
+            if (time < 0.0d) {
+                absent++;
+                return;
+            }
+
+            long nanos = Math.round(time * 1_000_000.0d);
+            int index = bucketOf(nanos);
+            if (index >= buckets.length) buckets = Arrays.copyOf(buckets, index + 1);
+            buckets[index]++;
+
+            count++;
+            sum += nanos;
+            sumSquares += (double) nanos * nanos;
+            min = Math.min(min, nanos);
+            max = Math.max(max, nanos);
+        }
+
+        void merge(final Target other) {
+            if (other.buckets.length > buckets.length) buckets = Arrays.copyOf(buckets, other.buckets.length);
+            for (int x = 0; x < other.buckets.length; x++) buckets[x] += other.buckets[x];
+            count += other.count;
+            absent += other.absent;
+            sum += other.sum;
+            sumSquares += other.sumSquares;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+
+        double avg() {
+            return count == 0 ? 0.0d : sum / (double) count / 1_000_000.0d;
+        }
+
+        /**
+         * Calculate the population standard deviation in ms from the sum and sum of squares.
+         */
+        double stddev() {
+            if (count == 0) return 0.0d;
+            double avg = sum / (double) count;
+            return Math.sqrt(Math.max(0.0d, sumSquares / count - avg * avg)) / 1_000_000.0d;
+        }
+
+        /**
+         * Get the nearest-rank percentile in ms, the midpoint of its bucket within the min and max.
+         */
+        double percentile(final double pct) {
+            if (count == 0) return 0.0d;
+            long rank = Math.max(1L, (long) Math.ceil(pct / 100.0d * count));
+            long seen = 0L;
+            for (int x = 0; x < buckets.length; x++) {
+                seen += buckets[x];
+                if (seen >= rank) {
+                    long mid = (lowerOf(x) + lowerOf(x + 1) - 1) / 2;
+                    return Math.min(max, Math.max(min, mid)) / 1_000_000.0d;
+                }
+            }
+            return max / 1_000_000.0d;
+        }
+
+        String summary() {
+            return String.format("%.3f/%.3f/%.3f/%.3f", count == 0 ? 0.0d : min / 1_000_000.0d, avg(),
+                    max / 1_000_000.0d, stddev());
+        }
+
+        String percentiles() {
+            return String.format("%.3f/%.3f/%.3f", percentile(50), percentile(95), percentile(99));
+        }
+    }
+
+    private final Map<String, Target> targets = new TreeMap<>();
+
+    /**
+     * Get the bucket of a time in ns, exact below 128 ns and then 64 buckets per power of two.
+     */
+    static int bucketOf(final long nanos) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(nanos) - SUB_BITS);
+        return (shift << SUB_BITS) + (int) (nanos >>> shift);
+    }
+
+    /**
+     * Get the smallest time in ns of a bucket.
+     */
+    static long lowerOf(final int bucket) {
+        int shift = Math.max(0, (bucket >> SUB_BITS) - 1);
+        return (long) (bucket - (shift << SUB_BITS)) << shift;
+    }
+
+    /**
+     * Record a zing time of a target.
+     *
+     * @param time - zing time in ms, or less than zero when the host was absent.
+     */
+    synchronized void record(final String host, final int port, final double time) {
+        record(host + ":" + port, time);
+    }
+
+    /**
+     * Record a zing time of a target, a host:port or a unix: socket.
+     *
+     * @param time - zing time in ms, or less than zero when the host was absent.
+     */
+    synchronized void record(final String target, final double time) {
+        targets.computeIfAbsent(target, key -> new Target()).record(time);
+    }
+
+    synchronized void merge(final ZingSummary other) {
+        for (Map.Entry<String, Target> entry : other.targets.entrySet()) {
+            targets.computeIfAbsent(entry.getKey(), key -> new Target()).merge(entry.getValue());
+        }
+    }
+
+    synchronized Map<String, Target> targets() {
+        return new TreeMap<>(targets);
+    }
+
+    /**
+     * Save the summary, a line per target of the target escaped, the counts, sums, min and max, then each non-empty
+     * bucket as index:count.
+     */
+    synchronized Path save(final String fileName) throws IOException {
+
+        Path path = Paths.get(fileName);
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+
+        List<String> lines = new ArrayList<>(targets.size() + 3);
+        lines.add(HEADER);
+        lines.add(String.format("# %d targets captured %s, times in ns", targets.size(), Instant.now()));
+        lines.add("# target count absent sum sum-of-squares min max bucket:count...");
+
+        for (Map.Entry<String, Target> entry : targets.entrySet()) {
+            Target t = entry.getValue();
+            StringBuilder line = new StringBuilder(escape(entry.getKey()));
+            line.append(' ').append(t.count).append(' ').append(t.absent).append(' ').append(t.sum)
+                    .append(' ').append(t.sumSquares).append(' ').append(t.count == 0 ? 0L : t.min)
+                    .append(' ').append(t.max);
+            for (int x = 0; x < t.buckets.length; x++) {
+                if (t.buckets[x] > 0) line.append(' ').append(x).append(':').append(t.buckets[x]);
+            }
+            lines.add(line.toString());
+        }
+
+        return Files.write(path, lines);
+    }
+
+    static ZingSummary load(final String fileName) throws IOException {
+
+        List<String> lines = Files.readAllLines(Paths.get(fileName));
+        if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+            throw new IOException(fileName + " is not a zing summary");
+        }
+
+        ZingSummary summary = new ZingSummary();
+
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == '#') continue;
+
+            String[] fields = line.split(" ");
+            Target t = new Target();
+            t.count = Long.parseLong(fields[1]);
+            t.absent = Long.parseLong(fields[2]);
+            t.sum = Long.parseLong(fields[3]);
+            t.sumSquares = Double.parseDouble(fields[4]);
+            t.min = t.count == 0 ? Long.MAX_VALUE : Long.parseLong(fields[5]);
+            t.max = Long.parseLong(fields[6]);
+            for (int x = 7; x < fields.length; x++) {
+                int colon = fields[x].indexOf(':');
+                int index = Integer.parseInt(fields[x].substring(0, colon));
+                if (index >= t.buckets.length) t.buckets = Arrays.copyOf(t.buckets, index + 1);
+                t.buckets[index] += Long.parseLong(fields[x].substring(colon + 1));
+            }
+
+            summary.targets.computeIfAbsent(unescape(fields[0]), key -> new Target()).merge(t);
+        }
+
+        return summary;
+    }
+
+    /**
+     * Escape a target as the first field of a line, as the path of a unix: target can have a space, with each space,
+     * control character and % written as % and its two hex digits.
+     */
+    static String escape(final String target) {
+        StringBuilder sb = new StringBuilder(target.length());
+        for (char c : target.toCharArray()) {
+            if (c <= ' ' || c == '%' || c == 0x7f) sb.append(String.format("%%%02X", (int) c));
+            else sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    static String unescape(final String field) {
+        StringBuilder sb = new StringBuilder(field.length());
+        for (int x = 0; x < field.length(); x++) {
+            char c = field.charAt(x);
+            if (c == '%' && x + 2 < field.length()) {
+                sb.append((char) Integer.parseInt(field.substring(x + 1, x + 3), 16));
+                x += 2;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Load and merge summary files, loading the files in parallel.
+     *
+     * @param jobs - files loaded at the same time.
+     */
+    static ZingSummary merge(final List<String> fileNames, final int jobs) throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(jobs, fileNames.size())));
+
+        try {
+            List<Future<ZingSummary>> loads = new ArrayList<>();
+            for (String fileName : fileNames) loads.add(pool.submit(() -> load(fileName)));
+
+            ZingSummary merged = new ZingSummary();
+            for (Future<ZingSummary> load : loads) merged.merge(load.get());
+            return merged;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Report each target and all the targets together.
+     */
+    void report(final int files, final long totalTime, final PrintStream out) {
+
+        Map<String, Target> all = targets();
+        Target total = new Target();
+        for (Target t : all.values()) total.merge(t);
+
+        out.printf("%n--- zing merged summary of %d files, %d targets ---%n", files, all.size());
+        out.printf("%-40s %10s %8s  %-34s %s%n", "target", "ops", "absent", "min/avg/max/stddev ms",
+                "p50/p95/p99 ms");
+        for (Map.Entry<String, Target> entry : all.entrySet()) {
+            logTarget(entry.getKey(), entry.getValue(), out);
+        }
+        logTarget("all", total, out);
+        out.printf("total time: %d ms%n%n", totalTime);
+    }
+
+    private static void logTarget(final String name, final Target t, final PrintStream out) {
+        out.printf("%-40s %10d %8d  %-34s %s%n", name, t.count + t.absent, t.absent, t.summary(), t.percentiles());
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ * @(#)ZingTargetTable.java
+ *
+ * Title: ZingTargetTable - Zero packet pING compact target table.
+ *
+ * Description: Table of host and port targets with their rolling zing statistics
+ *     kept as parallel primitive arrays, one row per target, so a very large set
+ *     of targets takes a few dozen bytes each instead of an object graph.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class ZingTargetTable {
+
+    static final int ADDR_BYTES = 16;         // a TCP/IP-6 address, a TCP/IP-4 address uses the first 4 bytes
+    static final float EWMA_WEIGHT = 0.1f;    // weight of a new zing time in the rolling average
+
+    private int size = 0;
+
+    // target columns
+    private byte[] addrs;       // packed addresses, ADDR_BYTES per row
+    private byte[] addrLengths; // 4 or 16
+    private short[] ports;      // unsigned port
+    private int[] names;        // index into the interned host names
+
+    // rolling statistics columns
+    private int[] ops;
+    private int[] absent;
+    private float[] min;
+    private float[] max;
+    private float[] ewma;
+    private double[] sum;
+    private double[] sumSquares;
+
+    // interned host names, a name is kept once however many ports and addresses it has
+    private final List<String> nameList = new ArrayList<>();
+    private final Map<String, Integer> nameIndex = new HashMap<>();
+
+    // open addressing index of the first row of each host name and port, a slot holds row + 1 and 0 when empty
+    private int[] index;
+
+    ZingTargetTable(final int capacity) {
+        int n = Math.max(16, capacity);
+        addrs = new byte[n * ADDR_BYTES];
+        addrLengths = new byte[n];
+        ports = new short[n];
+        names = new int[n];
+        ops = new int[n];
+        absent = new int[n];
+        min = new float[n];
+        max = new float[n];
+        ewma = new float[n];
+        sum = new double[n];
+        sumSquares = new double[n];
+        index = new int[Integer.highestOneBit(n * 2 - 1) * 2];
+    }
+
+    /**
+     * Add a target to the table.
+     *
+     * @return row of the target.
+     */
+    synchronized int add(final String hostName, final InetAddress inetAddr, final int port) {
+
+        if (size == ports.length) grow();
+
+        int row = size++;
+        byte[] addr = inetAddr.getAddress();
+        System.arraycopy(addr, 0, addrs, row * ADDR_BYTES, addr.length);
+        addrLengths[row] = (byte) addr.length;
+        ports[row] = (short) port;
+        names[row] = nameIndex.computeIfAbsent(hostName, name -> {
+            nameList.add(name);
+            return nameList.size() - 1;
+        });
+        min[row] = Float.MAX_VALUE;
+        if (find(names[row], port) < 0) insert(row);
+
+        return row;
+    }
+
+    /**
+     * Find the row of a target, the first one added of the host name and port.
+     *
+     * @return row of the target, or -1 when it is not in the table.
+     */
+    synchronized int find(final String hostName, final int port) {
+        Integer name = nameIndex.get(hostName);
+        return name == null ? -1 : find(name, port);
+    }
+
+    private int find(final int name, final int port) {
+        int mask = index.length - 1;
+        for (int slot = slotOf(name, port) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int row = index[slot] - 1;
+            if (names[row] == name && (ports[row] & 0xFFFF) == port) return row;
+        }
+        return -1;
+    }
+
+    private void insert(final int row) {
+        int mask = index.length - 1;
+        int slot = slotOf(names[row], ports[row] & 0xFFFF) & mask;
+        while (index[slot] != 0) slot = (slot + 1) & mask;
+        index[slot] = row + 1;
+    }
+
+    private static int slotOf(final int name, final int port) {
+        int h = name * 0x9E3779B9 + port;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Set the address of a target, such as when its host name resolves to a new one.
+     */
+    synchronized void setAddress(final int row, final InetAddress inetAddr) {
+        byte[] addr = inetAddr.getAddress();
+        Arrays.fill(addrs, row * ADDR_BYTES, (row + 1) * ADDR_BYTES, (byte) 0);
+        System.arraycopy(addr, 0, addrs, row * ADDR_BYTES, addr.length);
+        addrLengths[row] = (byte) addr.length;
+    }
+
+    /**
+     * Add a target on each of the ports to the table, in rows one after another.
+     *
+     * @return row of the target on the first port.
+     */
+    synchronized int add(final String hostName, final InetAddress inetAddr, final Integer[] ports) {
+        int first = size;
+        for (int port : ports) add(hostName, inetAddr, port);
+        return first;
+    }
+
+    private void grow() {
+        int n = ports.length * 2;
+        addrs = Arrays.copyOf(addrs, n * ADDR_BYTES);
+        addrLengths = Arrays.copyOf(addrLengths, n);
+        ports = Arrays.copyOf(ports, n);
+        names = Arrays.copyOf(names, n);
+        ops = Arrays.copyOf(ops, n);
+        absent = Arrays.copyOf(absent, n);
+        min = Arrays.copyOf(min, n);
+        max = Arrays.copyOf(max, n);
+        ewma = Arrays.copyOf(ewma, n);
+        sum = Arrays.copyOf(sum, n);
+        sumSquares = Arrays.copyOf(sumSquares, n);
+
+        // the index is kept at most half full, so it is rebuilt at twice the size with the rows
+        int[] old = index;
+        index = new int[old.length * 2];
+        for (int slot : old) if (slot != 0) insert(slot - 1);
+    }
+
+    /**
+     * Record a zing time of a target.
+     *
+     * @param time - zing time in ms, or less than zero when the host was absent.
+     */
+    synchronized void record(final int row, final double time) {
+
+        ops[row]++;
+
+        if (time < 0.0d) {
+            absent[row]++;
+            return;
+        }
+
+        int present = ops[row] - absent[row];
+        float t = (float) time;
+        min[row] = Math.min(min[row], t);
+        max[row] = Math.max(max[row], t);
+        ewma[row] = present == 1 ? t : ewma[row] + EWMA_WEIGHT * (t - ewma[row]);
+        sum[row] += time;
+        sumSquares[row] += time * time;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized String hostName(final int row) {
+        return nameList.get(names[row]);
+    }
+
+    synchronized InetAddress address(final int row) {
+        try {
+            return InetAddress.getByAddress(Arrays.copyOfRange(addrs, row * ADDR_BYTES,
+                    row * ADDR_BYTES + addrLengths[row]));
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e); // only for an illegal length, which add never stores
+        }
+    }
+
+    synchronized int port(final int row) {
+        return ports[row] & 0xFFFF;
+    }
+
+    synchronized int ops(final int row) {
+        return ops[row];
+    }
+
+    synchronized int absent(final int row) {
+        return absent[row];
+    }
+
+    synchronized double min(final int row) {
+        return ops[row] > absent[row] ? min[row] : 0.0d;
+    }
+
+    synchronized double max(final int row) {
+        return max[row];
+    }
+
+    synchronized double ewma(final int row) {
+        return ewma[row];
+    }
+
+    synchronized double avg(final int row) {
+        int present = ops[row] - absent[row];
+        return present > 0 ? sum[row] / present : 0.0d;
+    }
+
+    synchronized double stddev(final int row) {
+        int present = ops[row] - absent[row];
+        if (present == 0) return 0.0d;
+        double avg = sum[row] / present;
+        return Math.sqrt(Math.max(0.0d, sumSquares[row] / present - avg * avg));
+    }
+
+    /**
+     * Get the bytes held by the table, the columns and index at their capacity plus the interned host names.
+     */
+    synchronized long bytes() {
+        long columns = (long) addrs.length + addrLengths.length + 2L * ports.length + 4L * names.length
+                + 4L * index.length
+                + 4L * (ops.length + absent.length + min.length + max.length + ewma.length)
+                + 8L * (sum.length + sumSquares.length);
+        long strings = 0L;
+        for (String name : nameList) strings += 56L + name.length(); // String and its Latin-1 array, with headers
+        return columns + strings + 48L * nameList.size();           // plus a HashMap entry and boxed index each
+    }
+
+    /**
+     * Get the bytes held by the table for each target in it.
+     */
+    synchronized double bytesPerTarget() {
+        return size == 0 ? 0.0d : bytes() / (double) size;
+    }
+
+}
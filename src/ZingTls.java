@@ -0,0 +1,354 @@
+/*
+ * @(#)ZingTls.java
+ *
+ * Title: ZingTls - Zero packet pING TLS handshake timing.
+ *
+ * Description: Times the TCP connect and the TLS handshake to a host separately
+ *     with a non-blocking SSLEngine, for both full handshakes and handshakes
+ *     resumed from the client session cache.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+final class ZingTls {
+
+    private final SSLContext context;
+    private final boolean trustAll;
+    private final long timeoutNanos;
+    private final PrintStream out;
+
+    private static final String SESSION_MARK = "zing.full"; // session value of the mark of a full handshake
+
+    private byte[] lastSessionId = null;  // id of the last full handshake session, to tell a resumed one
+    private Object lastSessionMark = null; // mark of the last full handshake session, kept by a TLS 1.3 resumption
+
+    /**
+     * Times of one connect and handshake in milliseconds.
+     */
+    record Handshake(double connect, double handshake, boolean resumed) {
+    }
+
+    /**
+     * Trust manager for -k that accepts any certificate, such as a self-signed one on a test server.
+     */
+    private static final class TrustAll implements X509TrustManager {
+
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+
+    ZingTls(final boolean trustAll, final int timeout, final PrintStream out) throws GeneralSecurityException {
+        this.context = SSLContext.getInstance("TLS");
+        this.context.init(null, trustAll ? new TrustManager[]{new TrustAll()} : null, null);
+        this.trustAll = trustAll;
+        this.timeoutNanos = timeout * 1_000_000L;
+        this.out = out;
+    }
+
+    /**
+     * Zing the host with a full and a resumed handshake for each op, and report the connect, full handshake and
+     * resumed handshake times for each cycle and in the summary.
+     */
+    void zing(final InetAddress inetAddr, final String host, final String hostName, final Integer[] ports,
+              final int count, final int limit) {
+
+        String hostAddr = inetAddr.getHostAddress();
+        ZingStats connect = new ZingStats();
+        ZingStats fullHandshake = new ZingStats();
+        ZingStats resumedHandshake = new ZingStats();
+        int resumedCount = 0;
+        int failedCount = 0;
+
+        out.printf("ZING TLS: %s (%s): %d ports used, %d ops per cycle%n", hostName, hostAddr, ports.length,
+                (limit * ports.length));
+
+        long timeZingStart = currentTimeMillis();
+
+        for (int x = 0; x < count; x++) {
+
+            ZingStats cycleFull = new ZingStats();
+            ZingStats cycleResumed = new ZingStats();
+            double cycleConnect = 0.0d;
+
+            out.printf("#%d ", x + 1);
+            out.print(".");
+
+            for (int y = 0; y < limit; y++) {
+                for (int port : ports) {
+                    try {
+                        Handshake first = full(inetAddr, host, port);
+                        Handshake second = resumed(inetAddr, host, port);
+                        connect.add(first.connect());
+                        connect.add(second.connect());
+                        cycleConnect += first.connect() + second.connect();
+                        fullHandshake.add(first.handshake());
+                        cycleFull.add(first.handshake());
+                        if (second.resumed()) {
+                            resumedHandshake.add(second.handshake());
+                            cycleResumed.add(second.handshake());
+                            resumedCount++;
+                        } else {
+                            // the host declined to resume, so this was a full handshake too
+                            fullHandshake.add(second.handshake());
+                            cycleFull.add(second.handshake());
+                        }
+                    } catch (SocketTimeoutException e) {
+                        out.printf("Timed out after %d ms waiting for host.%n", timeoutNanos / 1_000_000L);
+                        failedCount++;
+                    } catch (IOException e) {
+                        out.print(".");
+                        failedCount++;
+                    }
+                }
+            }
+
+            out.print("..");
+            out.printf(" %d ops to %s (%s): ", limit * ports.length, hostName, hostAddr);
+
+            if (cycleFull.size() > 0) {
+                out.printf("Active connect = %,.3f ms, full = %,.3f ms, resumed = %,.3f ms%n",
+                        cycleConnect / (cycleFull.size() + cycleResumed.size()), cycleFull.avg(), cycleResumed.avg());
+            } else {
+                out.println("Absent!");
+            }
+        }
+
+        long timeZingClose = currentTimeMillis();
+
+        out.printf("%n--- zing tls summary for %s/%s ---%n", hostName, hostAddr);
+        out.printf("%d total ops used, %d handshakes; %d handshakes resumed, %d ops failed; total time: %d ms%n",
+                (ports.length * limit * count), 2 * (ports.length * limit * count), resumedCount, failedCount,
+                (timeZingClose - timeZingStart));
+        out.printf("connect-time min/avg/max/stddev = %s ms%n", connect.summary());
+        out.printf("full-handshake min/avg/max/stddev = %s ms; p50/p95/p99 = %s ms%n",
+                fullHandshake.summary(), fullHandshake.percentiles());
+        out.printf("resumed-handshake min/avg/max/stddev = %s ms; p50/p95/p99 = %s ms",
+                resumedHandshake.summary(), resumedHandshake.percentiles());
+        out.printf("%n%n");
+    }
+
+    /**
+     * Connect and perform a full handshake, after dropping every session from the client session cache.
+     */
+    Handshake full(final InetAddress inetAddr, final String host, final int port) throws IOException {
+
+        SSLSessionContext sessions = context.getClientSessionContext();
+        for (byte[] id : Collections.list(sessions.getIds())) {
+            SSLSession session = sessions.getSession(id);
+            if (session != null) session.invalidate();
+        }
+
+        return handshake(inetAddr, host, port, true);
+    }
+
+    /**
+     * Connect and perform a handshake that offers the session cached by the last full handshake.
+     */
+    Handshake resumed(final InetAddress inetAddr, final String host, final int port) throws IOException {
+        return handshake(inetAddr, host, port, false);
+    }
+
+    private Handshake handshake(final InetAddress inetAddr, final String host, final int port,
+                                final boolean full) throws IOException {
+
+        long deadline = nanoTime() + timeoutNanos;
+
+        try (SocketChannel channel = SocketChannel.open(); Selector selector = Selector.open()) {
+
+            channel.configureBlocking(false);
+
+            long timeConnectStart = nanoTime();
+
+            if (!channel.connect(new InetSocketAddress(inetAddr, port))) {
+                while (!channel.finishConnect()) await(selector, channel, SelectionKey.OP_CONNECT, deadline);
+            }
+
+            long timeConnectClose = nanoTime();
+
+            SSLEngine engine = context.createSSLEngine(host, port);
+            engine.setUseClientMode(true);
+            if (!trustAll) {
+                SSLParameters params = engine.getSSLParameters();
+                params.setEndpointIdentificationAlgorithm("HTTPS");
+                engine.setSSLParameters(params);
+            }
+
+            SSLSession session = engine.getSession();
+            ByteBuffer netOut = ByteBuffer.allocate(session.getPacketBufferSize());
+            ByteBuffer netIn = ByteBuffer.allocate(session.getPacketBufferSize());
+            ByteBuffer appIn = ByteBuffer.allocate(session.getApplicationBufferSize());
+
+            long timeHandshakeStart = nanoTime();
+
+            engine.beginHandshake();
+            HandshakeStatus status = engine.getHandshakeStatus();
+
+            while (status != HandshakeStatus.FINISHED && status != HandshakeStatus.NOT_HANDSHAKING) {
+                status = switch (status) {
+                    case NEED_WRAP -> wrap(engine, channel, selector, netOut, deadline);
+                    case NEED_UNWRAP, NEED_UNWRAP_AGAIN -> unwrap(engine, channel, selector, netIn, appIn, deadline);
+                    case NEED_TASK -> runTasks(engine);
+                    default -> throw new SSLException("Unexpected handshake status " + status);
+                };
+            }
+
+            long timeHandshakeClose = nanoTime();
+
+            SSLSession established = engine.getSession();
+            // TLS 1.2 resumes the session of the id, TLS 1.3 resumes with a new id and the values of the session
+            boolean resumed = !full && (Arrays.equals(lastSessionId, established.getId())
+                    || (lastSessionMark != null && established.getValue(SESSION_MARK) == lastSessionMark));
+            if (full) {
+                lastSessionId = established.getId();
+                lastSessionMark = new Object();
+                established.putValue(SESSION_MARK, lastSessionMark);
+            }
+
+            close(engine, channel, selector, netOut, netIn, appIn, deadline);
+
+            return new Handshake((timeConnectClose - timeConnectStart) / 1_000_000.0d,
+                    (timeHandshakeClose - timeHandshakeStart) / 1_000_000.0d, resumed);
+        }
+    }
+
+    private static HandshakeStatus wrap(final SSLEngine engine, final SocketChannel channel, final Selector selector,
+                                        final ByteBuffer netOut, final long deadline) throws IOException {
+
+        netOut.clear();
+        SSLEngineResult result = engine.wrap(ByteBuffer.allocate(0), netOut);
+        if (result.getStatus() != SSLEngineResult.Status.OK && result.getStatus() != SSLEngineResult.Status.CLOSED) {
+            throw new SSLException("TLS wrap " + result.getStatus());
+        }
+        netOut.flip();
+
+        while (netOut.hasRemaining()) {
+            if (channel.write(netOut) == 0) await(selector, channel, SelectionKey.OP_WRITE, deadline);
+        }
+
+        return result.getHandshakeStatus();
+    }
+
+    private static HandshakeStatus unwrap(final SSLEngine engine, final SocketChannel channel, final Selector selector,
+                                          final ByteBuffer netIn, ByteBuffer appIn, final long deadline) throws IOException {
+
+        while (true) {
+            netIn.flip();
+            SSLEngineResult result = engine.unwrap(netIn, appIn);
+            netIn.compact();
+            appIn.clear(); // no application data is expected, anything received is dropped
+
+            switch (result.getStatus()) {
+                case OK:
+                    return result.getHandshakeStatus();
+                case BUFFER_UNDERFLOW:
+                    read(channel, selector, netIn, deadline);
+                    break;
+                case CLOSED:
+                    throw new EOFException("TLS connection closed by host");
+                default:
+                    throw new SSLException("TLS unwrap " + result.getStatus());
+            }
+        }
+    }
+
+    private static HandshakeStatus runTasks(final SSLEngine engine) {
+        Runnable task;
+        while ((task = engine.getDelegatedTask()) != null) task.run();
+        return engine.getHandshakeStatus();
+    }
+
+    /**
+     * Send close_notify and read until the host closes, which also takes in any session ticket sent after the
+     * handshake so the next handshake can resume. This is outside of the timed handshake.
+     */
+    private static void close(final SSLEngine engine, final SocketChannel channel, final Selector selector,
+                              final ByteBuffer netOut, final ByteBuffer netIn, final ByteBuffer appIn,
+                              final long deadline) {
+        try {
+            engine.closeOutbound();
+            while (!engine.isOutboundDone()) wrap(engine, channel, selector, netOut, deadline);
+
+            while (!engine.isInboundDone()) {
+                netIn.flip();
+                SSLEngineResult result = engine.unwrap(netIn, appIn);
+                netIn.compact();
+                appIn.clear();
+                if (result.getStatus() == SSLEngineResult.Status.BUFFER_UNDERFLOW) read(channel, selector, netIn, deadline);
+                else if (result.getStatus() != SSLEngineResult.Status.OK) break;
+            }
+        } catch (IOException e) {
+            // host closed without close_notify or did not answer in time, the handshake was already timed
+        }
+    }
+
+    private static void read(final SocketChannel channel, final Selector selector, final ByteBuffer netIn,
+                             final long deadline) throws IOException {
+        while (true) {
+            int n = channel.read(netIn);
+            if (n < 0) throw new EOFException("Connection closed by host");
+            if (n > 0) return;
+            await(selector, channel, SelectionKey.OP_READ, deadline);
+        }
+    }
+
+    private static void await(final Selector selector, final SocketChannel channel, final int ops,
+                              final long deadline) throws IOException {
+
+        long wait = (deadline - nanoTime()) / 1_000_000L;
+        if (wait <= 0) throw new SocketTimeoutException("Timed out waiting for host");
+
+        SelectionKey key = channel.keyFor(selector);
+        if (key == null) channel.register(selector, ops);
+        else key.interestOps(ops);
+
+        selector.select(wait);
+        selector.selectedKeys().clear();
+        ZingProbe.checkInterrupted();
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * @(#)ZingUnix.java
+ *
+ * Title: ZingUnix - Zero packet pING of a Unix domain socket.
+ *
+ * Description: Zings a local listener on a Unix domain socket path, such as a
+ *     sidecar proxy or agent, one op at a time for the cycles of the zing run,
+ *     so it has the same connect timing, options and summary as a TCP host.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+final class ZingUnix implements AutoCloseable {
+
+    static final String SCHEME = "unix:"; // prefix of a Unix domain socket target, such as unix:/run/envoy.sock
+    static final int DEFAULT_TIMEOUT = 4000; // connect timeout in ms of a timeout of 0, a select of 0 never returns
+
+    private final UnixDomainSocketAddress address;
+    private final int timeout;
+    private final Selector selector;
+    private volatile boolean cancelled = false;
+
+    /**
+     * @param target - unix: and the path of the socket.
+     * @param timeout - connect timeout in ms, 0 for the default.
+     */
+    ZingUnix(final String target, final int timeout) throws IOException {
+        this.address = UnixDomainSocketAddress.of(path(target));
+        this.timeout = timeout > 0 ? timeout : DEFAULT_TIMEOUT;
+        this.selector = Selector.open();
+    }
+
+    static boolean isUnix(final String host) {
+        return host.startsWith(SCHEME);
+    }
+
+    static String path(final String target) {
+        return target.substring(SCHEME.length());
+    }
+
+    /**
+     * Time one connect and close, the connect bounded by the timeout as a listener with a full backlog does not answer.
+     *
+     * @return zing time in ms, or ZingProbe.ABSENT when the listener refused, is missing, did not answer in time, or
+     *     the op was cancelled.
+     */
+    double connect() {
+
+        long timeStart = nanoTime();
+
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.configureBlocking(false);
+            if (!channel.connect(address)) {
+                SelectionKey key = channel.register(selector, SelectionKey.OP_CONNECT);
+                if (!cancelled) selector.select(timeout);
+                selector.selectedKeys().clear();
+                key.cancel();
+                if (cancelled || !channel.finishConnect()) return ZingProbe.ABSENT;
+            }
+        } catch (IOException e) {
+            return ZingProbe.ABSENT;
+        } finally {
+            try {
+                selector.selectNow(); // flush the cancelled key of the closed channel
+            } catch (IOException e) {
+                // the selector is closed with the run
+            }
+        }
+
+        return (nanoTime() - timeStart) / 1_000_000.0d;
+    }
+
+    /**
+     * Cancel the op in flight and every later op, as at the deadline of the run.
+     */
+    void cancel() {
+        cancelled = true;
+        selector.wakeup();
+    }
+
+    @Override
+    public void close() throws IOException {
+        selector.close();
+    }
+
+}
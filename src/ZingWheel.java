@@ -0,0 +1,186 @@
+/*
+ * @(#)ZingWheel.java
+ *
+ * Title: ZingWheel - Zero packet pING hashed timing wheel.
+ *
+ * Description: Hashed timing wheel of target rows due to be zinged, with an
+ *     insert and expire in constant time however many rows are scheduled, and
+ *     the ticks a late scheduler missed caught up on the next advance.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import java.util.Arrays;
+
+final class ZingWheel {
+
+    /**
+     * Receives each row that is due, with the deadline it was scheduled at.
+     */
+    interface Expiry {
+        void expire(int row, long deadline);
+    }
+
+    private static final int NONE = -1;
+
+    private final long tickNanos;
+    private final int mask;
+    private final long timeStart;
+    private long tick = 0L;       // next tick to expire
+    private boolean advancing = false;
+
+    // each bucket is a singly linked list of rows threaded through next
+    private final int[] heads;
+    private int[] next;
+    private long[] rounds;        // whole turns of the wheel left before the row is due
+    private long[] deadlines;
+    private int[] bucketOf;       // bucket a row is scheduled in, NONE when it is not
+    private int scheduled = 0;
+
+    /**
+     * @param tickMillis - time of a tick in ms, the resolution of the wheel.
+     * @param buckets - buckets of the wheel, rounded up to a power of two.
+     * @param capacity - rows expected, the wheel grows for more.
+     */
+    ZingWheel(final int tickMillis, final int buckets, final int capacity) {
+        this.tickNanos = tickMillis * 1_000_000L;
+        this.heads = new int[Integer.highestOneBit(Math.max(2, buckets) * 2 - 1)];
+        this.mask = heads.length - 1;
+        this.timeStart = System.nanoTime();
+        Arrays.fill(heads, NONE);
+        next = new int[Math.max(16, capacity)];
+        rounds = new long[next.length];
+        deadlines = new long[next.length];
+        bucketOf = new int[next.length];
+        Arrays.fill(bucketOf, NONE);
+    }
+
+    /**
+     * Schedule a row, that is not already scheduled, to be due at a deadline, a deadline already past is due on the
+     * next tick, also when scheduled from the expiry of an advance.
+     *
+     * @param deadline - System.nanoTime() the row is due at.
+     */
+    void schedule(final int row, final long deadline) {
+
+        if (row >= next.length) grow(row);
+
+        long firstTick = advancing ? tick + 1 : tick; // the tick being expired is already past
+        long ticks = Math.max(firstTick, (deadline - timeStart + tickNanos - 1) / tickNanos);
+        int bucket = (int) (ticks & mask);
+
+        rounds[row] = (ticks - firstTick) / heads.length;
+        deadlines[row] = deadline;
+        bucketOf[row] = bucket;
+        next[row] = heads[bucket];
+        heads[bucket] = row;
+        scheduled++;
+    }
+
+    /**
+     * Expire every row due by now, taking the rows out of the wheel.
+     *
+     * @return rows expired.
+     */
+    int advance(final long now, final Expiry expiry) {
+
+        long lastTick = (now - timeStart) / tickNanos;
+        int expired = 0;
+
+        advancing = true;
+        try {
+            for (; tick <= lastTick; tick++) {
+
+                // nothing is left to expire, so the ticks a late scheduler missed are skipped at once
+                if (scheduled == 0) {
+                    tick = lastTick;
+                    continue;
+                }
+
+                int bucket = (int) (tick & mask);
+                int row = heads[bucket];
+                heads[bucket] = NONE;
+
+                while (row != NONE) {
+                    int following = next[row];
+                    if (rounds[row] > 0) {
+                        rounds[row]--;
+                        next[row] = heads[bucket];
+                        heads[bucket] = row;
+                    } else {
+                        bucketOf[row] = NONE;
+                        scheduled--;
+                        expired++;
+                        expiry.expire(row, deadlines[row]);
+                    }
+                    row = following;
+                }
+            }
+        } finally {
+            advancing = false;
+        }
+
+        return expired;
+    }
+
+    /**
+     * Take a scheduled row out of the wheel before it is due, in the time of a walk of its bucket.
+     *
+     * @return false when the row was not scheduled.
+     */
+    boolean cancel(final int row) {
+
+        if (row >= next.length || bucketOf[row] == NONE) return false;
+
+        int bucket = bucketOf[row];
+        int prev = NONE;
+        for (int r = heads[bucket]; r != row; r = next[r]) prev = r;
+
+        if (prev == NONE) heads[bucket] = next[row];
+        else next[prev] = next[row];
+
+        bucketOf[row] = NONE;
+        scheduled--;
+        return true;
+    }
+
+    /**
+     * Get the System.nanoTime() of the next tick to expire.
+     */
+    long nextTick() {
+        return timeStart + tick * tickNanos;
+    }
+
+    int scheduled() {
+        return scheduled;
+    }
+
+    /**
+     * Get the bytes held by the wheel, its buckets and the row columns at their capacity.
+     */
+    long bytes() {
+        return 4L * heads.length + (4L + 8L + 8L + 4L) * next.length;
+    }
+
+    private void grow(final int row) {
+        int n = Math.max(row + 1, next.length * 2);
+        next = Arrays.copyOf(next, n);
+        rounds = Arrays.copyOf(rounds, n);
+        deadlines = Arrays.copyOf(deadlines, n);
+        int from = bucketOf.length;
+        bucketOf = Arrays.copyOf(bucketOf, n);
+        Arrays.fill(bucketOf, from, n, NONE);
+    }
+
+}
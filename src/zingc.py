@@ -0,0 +1,135 @@
+#!/usr/bin/env python3
+#
+#
+
+"""
+
+ Name:  zingc.py
+
+ Title: Zingc - Zero packet pING thin client of the zing daemon.
+
+ Description: Forwards a zing command-line to the zing daemon listening on ~/.zing/zing.sock, and copies the
+     output of the run to stdout and stderr as it arrives, with the exit status of the run as its own, without
+     the startup of a JVM. A run the daemon declines, or any run when no daemon is listening, is done by the
+     zing command in ZING_CMD, else java xyz.wfgilreath.net.Zing2 with the CLASSPATH of the environment.
+
+     A request is the directory of the client, the count of its arguments and each argument, then the count of
+     its environment variables and the name and value of each, where a count is a big-endian int and a string an
+     int length and as many bytes of UTF-8. The reply is frames, each a byte kind, an int length and as many
+     bytes of output, up to the END frame with the exit status as its length, or is the one DECLINED frame of a
+     run the client is to do in-process.
+
+ Author William F. Gilreath (will@wfgilreath.xyz)
+ Version 1.3.0  10/19/26
+
+ Copyright © 2026 All Rights Reserved.
+
+ License: This software is subject to the terms of the GNU General Public License (GPL)
+     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+
+ You must accept the terms of the GNU General Public License (GPL) license agreement
+     to use this software.
+
+"""
+
+import os
+import shlex
+import socket
+import struct
+import sys
+
+SOCKET = os.path.join(os.path.expanduser("~"), ".zing", "zing.sock")  # socket of the daemon
+ZING_CMD = "java xyz.wfgilreath.net.Zing2"  # zing command of a run done in-process
+
+END = 0       # last frame, with the exit status as its length
+OUT = 1
+ERR = 2
+DECLINED = 3  # only frame of a run the daemon cannot do as the client would
+
+
+def string(value):
+    data = value.encode("utf-8", "surrogateescape")
+    return struct.pack(">i", len(data)) + data
+
+
+def request(args):
+    data = [string(os.getcwd()), struct.pack(">i", len(args))]
+    data += [string(arg) for arg in args]
+    data.append(struct.pack(">i", len(os.environ)))
+    for name, value in os.environ.items():
+        data += [string(name), string(value)]
+    return b"".join(data)
+
+
+def read_fully(sock, length):
+    data = bytearray()
+    while len(data) < length:
+        chunk = sock.recv(length - len(data))
+        if not chunk:
+            raise EOFError("the zing daemon closed the connection")
+        data += chunk
+    return bytes(data)
+
+
+def forward(args):
+    """Forward the run to the daemon, and return its exit status, or None when it is to be done in-process, as when
+    the daemon closes the connection before any reply, serving as many runs as it can."""
+
+    sock = socket.socket(socket.AF_UNIX, socket.SOCK_STREAM)
+    try:
+        sock.connect(SOCKET)
+    except OSError:
+        sock.close()
+        return None  # no daemon is listening, or a socket left by a daemon that is gone
+
+    replied = False
+    with sock:
+        try:
+            sock.sendall(request(args))
+            while True:
+                kind, length = struct.unpack(">bi", read_fully(sock, 5))
+                replied = True
+                if kind == END:
+                    return length
+                if kind == DECLINED:
+                    return None
+                stream = sys.stderr.buffer if kind == ERR else sys.stdout.buffer
+                data = read_fully(sock, length)
+                try:
+                    stream.write(data)
+                    stream.flush()
+                except BrokenPipeError:
+                    # the output is closed, and the run is stopped by the daemon once this client is gone
+                    os.dup2(os.open(os.devnull, os.O_WRONLY), stream.fileno())
+                    return 1
+        except (OSError, EOFError) as e:
+            if not replied:
+                return None
+            print(".. Error: Lost the zing daemon at %s: %s" % (SOCKET, e))
+            return 1
+
+
+def is_forwarded(args):
+    """Check a run can be forwarded to the daemon, it is not one that reads stdin, runs until interrupted or is the
+    daemon itself."""
+
+    for x, arg in enumerate(args):
+        if arg in ("-daemon", "-every"):
+            return False
+        if arg == "-f" and args[x + 1:x + 2] == ["-"]:
+            return False
+    return True
+
+
+def main(args):
+
+    status = forward(args) if is_forwarded(args) else None
+    if status is not None:
+        sys.exit(status)
+
+    command = shlex.split(os.environ.get("ZING_CMD", ZING_CMD)) + args
+    os.execvp(command[0], command)
+
+
+if __name__ == "__main__":
+    main(sys.argv[1:])
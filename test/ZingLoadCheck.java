@@ -0,0 +1,137 @@
+/*
+ * @(#)ZingLoadCheck.java
+ *
+ * Title: ZingLoadCheck - Zero packet pING load test loopback check.
+ *
+ * Description: Checks ZingLoad against a loopback listener at a low rate, that
+ *     every connect scheduled is attempted and connected without saturation,
+ *     against a closed port, that every connect is refused and the first step
+ *     saturates, and at a rate above 1000 connects per second, that the
+ *     generator does not spin on its selector between connects.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class ZingLoadCheck {
+
+    private static final Pattern SUMMARY = Pattern.compile(
+            "(\\d+) connects attempted; (\\d+) connected, (\\d+) refused, (\\d+) timeouts, (\\d+) errors");
+
+    private static int failures = 0;
+
+    private ZingLoadCheck() {}
+
+    public static void main(final String[] args) throws Exception {
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        try (ServerSocket server = new ServerSocket(0, 1024, loopback)) {
+
+            Thread acceptor = new Thread(() -> serve(server), "zing-load-check");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            String report = load(loopback, server.getLocalPort(), new int[]{50, 50, 50});
+            int[] counts = counts(report);
+            expect("50 cps for 1 s attempts about 50 connects, not " + counts[0],
+                    counts[0] >= 45 && counts[0] <= 55);
+            expect("every connect to the listener connects", counts[1] == counts[0] && counts[2] == 0
+                    && counts[3] == 0 && counts[4] == 0);
+            expect("50 cps does not saturate the listener", report.contains("no saturation up to 50 cps"));
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            long cpuStart = threads.getCurrentThreadCpuTime();
+            long timeStart = nanoTime();
+            counts = counts(load(loopback, server.getLocalPort(), new int[]{1500, 1500, 1500}));
+            double cpu = (threads.getCurrentThreadCpuTime() - cpuStart) / (double) (nanoTime() - timeStart);
+            expect("1500 cps for 1 s attempts about 1500 connects, not " + counts[0],
+                    counts[0] >= 1350 && counts[0] <= 1650);
+            expect(String.format("the generator is busy %.0f%% of 1500 cps, not spinning", cpu * 100.0d),
+                    cpu < 0.5d);
+        }
+
+        int closedPort;
+        try (ServerSocket closed = new ServerSocket(0, 1, loopback)) {
+            closedPort = closed.getLocalPort();
+        }
+
+        String report = load(loopback, closedPort, new int[]{20, 20, 20});
+        int[] counts = counts(report);
+        expect("every connect to a closed port is refused", counts[0] > 0 && counts[2] == counts[0]
+                && counts[1] == 0);
+        expect("a closed port saturates at the first step", report.contains("saturation at step #1"));
+
+        out.printf("%s%n", failures == 0 ? "ZingLoadCheck passed" : failures + " ZingLoadCheck failures");
+        exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Load the port with a profile of one step of one second, and get the report of the load test.
+     */
+    private static String load(final InetAddress inetAddr, final int port, final int[] profile) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PrintStream report = new PrintStream(bytes, true, StandardCharsets.UTF_8)) {
+            new ZingLoad(inetAddr, new Integer[]{port}, 1000, 1, false, report).load("localhost", profile);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the attempted, connected, refused, timed out and failed connects of the summary of a report.
+     */
+    private static int[] counts(final String report) {
+        Matcher m = SUMMARY.matcher(report);
+        if (!m.find()) {
+            expect("the report has a summary: " + report, false);
+            return new int[5];
+        }
+        int[] counts = new int[5];
+        for (int x = 0; x < counts.length; x++) counts[x] = Integer.parseInt(m.group(x + 1));
+        return counts;
+    }
+
+    /**
+     * Accept connects and close them until the server is closed.
+     */
+    private static void serve(final ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                server.accept().close();
+            } catch (IOException e) {
+                // the server is closed after the check
+            }
+        }
+    }
+
+    private static void expect(final String what, final boolean ok) {
+        if (!ok) {
+            failures++;
+            out.printf("FAILED: %s%n", what);
+        }
+    }
+
+}
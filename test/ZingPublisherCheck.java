@@ -0,0 +1,209 @@
+/*
+ * @(#)ZingPublisherCheck.java
+ *
+ * Title: ZingPublisherCheck - Zero packet pING publisher loopback check.
+ *
+ * Description: Checks ZingPublisher against a loopback listener: an op is only
+ *     performed once its result is requested, a cancelled subscription gets no
+ *     more results, a non-positive request is an error, and a whole run ends
+ *     with cycle results whose statistics are in order.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+final class ZingPublisherCheck {
+
+    private static final long SETTLE_MILLIS = 300L; // time for a publisher to run ahead of its demand, if it would
+
+    private static int failures = 0;
+
+    private ZingPublisherCheck() {}
+
+    public static void main(final String[] args) throws Exception {
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        try (ServerSocket server = new ServerSocket(0, 64, loopback)) {
+
+            Thread acceptor = new Thread(() -> accept(server), "zing-publisher-check");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            Integer[] ports = {server.getLocalPort()};
+
+            checkDemand(new ZingPublisher(loopback, ports, 2, 3, 1000));
+            checkCancel(new ZingPublisher(loopback, ports, 2, 3, 1000));
+            checkIllegal(new ZingPublisher(loopback, ports, 2, 3, 1000));
+            checkRun(new ZingPublisher(loopback, ports, 3, 4, 1000));
+        }
+
+        out.printf("%s%n", failures == 0 ? "ZingPublisherCheck passed" : failures + " ZingPublisherCheck failures");
+        exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Check no result is published beyond the demand, so no op is performed before it is requested.
+     */
+    private static void checkDemand(final ZingPublisher publisher) throws InterruptedException {
+
+        Recorder recorder = new Recorder();
+        publisher.subscribe(recorder);
+        recorder.subscribed.await(1, TimeUnit.SECONDS);
+
+        Thread.sleep(SETTLE_MILLIS);
+        expect("demand: no result before a request", recorder.results.isEmpty());
+
+        recorder.subscription.request(2);
+        Thread.sleep(SETTLE_MILLIS);
+        expect("demand: 2 results for a request of 2, got " + recorder.results.size(),
+                recorder.results.size() == 2);
+
+        recorder.subscription.request(1);
+        Thread.sleep(SETTLE_MILLIS);
+        expect("demand: 3 results for requests of 3, got " + recorder.results.size(),
+                recorder.results.size() == 3);
+        expect("demand: only op results before the cycle ends",
+                recorder.results.stream().allMatch(ZingPublisher.Op.class::isInstance));
+
+        recorder.subscription.cancel();
+    }
+
+    /**
+     * Check a cancelled subscription gets no more results, and neither completes nor fails.
+     */
+    private static void checkCancel(final ZingPublisher publisher) throws InterruptedException {
+
+        Recorder recorder = new Recorder();
+        publisher.subscribe(recorder);
+        recorder.subscribed.await(1, TimeUnit.SECONDS);
+
+        recorder.subscription.request(1);
+        Thread.sleep(SETTLE_MILLIS);
+        recorder.subscription.cancel();
+        recorder.subscription.request(Long.MAX_VALUE);
+        Thread.sleep(SETTLE_MILLIS);
+
+        expect("cancel: 1 result before the cancel, got " + recorder.results.size(), recorder.results.size() == 1);
+        expect("cancel: no completion or error", recorder.done.getCount() == 1L);
+    }
+
+    /**
+     * Check a non-positive request ends the subscription with an IllegalArgumentException.
+     */
+    private static void checkIllegal(final ZingPublisher publisher) throws InterruptedException {
+
+        Recorder recorder = new Recorder();
+        publisher.subscribe(recorder);
+        recorder.subscribed.await(1, TimeUnit.SECONDS);
+
+        recorder.subscription.request(0L);
+
+        expect("illegal: signalled", recorder.done.await(1, TimeUnit.SECONDS));
+        expect("illegal: error is " + recorder.error, recorder.error instanceof IllegalArgumentException);
+        expect("illegal: no results", recorder.results.isEmpty());
+    }
+
+    /**
+     * Check a whole run publishes every op and cycle in order and completes, with the statistics of each cycle in
+     * order.
+     */
+    private static void checkRun(final ZingPublisher publisher) throws InterruptedException {
+
+        Recorder recorder = new Recorder();
+        publisher.subscribe(recorder);
+        recorder.subscribed.await(1, TimeUnit.SECONDS);
+
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        expect("run: completes", recorder.done.await(10, TimeUnit.SECONDS) && recorder.error == null);
+        expect("run: 3 cycles of 4 ops and a cycle result, got " + recorder.results.size(),
+                recorder.results.size() == 3 * 5);
+
+        for (ZingPublisher.Result result : recorder.results) {
+            if (result instanceof ZingPublisher.Cycle cycle) {
+                expect("run: cycle " + cycle.cycle() + " of 4 ops present", cycle.ops() == 4 && cycle.absent() == 0);
+                expect("run: cycle " + cycle.cycle() + " statistics in order " + cycle,
+                        cycle.min() > 0.0d && cycle.min() <= cycle.p50() && cycle.p50() <= cycle.p95()
+                                && cycle.p95() <= cycle.p99() && cycle.p99() <= cycle.max()
+                                && cycle.min() <= cycle.avg() && cycle.avg() <= cycle.max() && cycle.stddev() >= 0.0d);
+            }
+        }
+    }
+
+    /**
+     * Accept connects and close them, until the server is closed.
+     */
+    private static void accept(final ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                server.accept().close(); // the connect is all a zing op times
+            } catch (IOException e) {
+                // the server is closed after the check
+            }
+        }
+    }
+
+    private static void expect(final String what, final boolean ok) {
+        if (!ok) {
+            failures++;
+            out.printf("FAILED: %s%n", what);
+        }
+    }
+
+    /**
+     * Subscriber that keeps each signal, and requests only what the check asks for.
+     */
+    private static final class Recorder implements Flow.Subscriber<ZingPublisher.Result> {
+
+        final List<ZingPublisher.Result> results = new CopyOnWriteArrayList<>();
+        final CountDownLatch subscribed = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+        }
+
+        @Override
+        public void onNext(final ZingPublisher.Result result) {
+            results.add(result);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+
+}
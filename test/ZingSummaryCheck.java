@@ -0,0 +1,89 @@
+/*
+ * @(#)ZingSummaryCheck.java
+ *
+ * Title: ZingSummaryCheck - Zero packet pING mergeable summary file check.
+ *
+ * Description: Checks a summary saved and loaded again keeps each target and
+ *     its counts, for a host:port target and for unix: targets whose path has
+ *     a space, a tab or a %, and that two such files merge into one target.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+final class ZingSummaryCheck {
+
+    private static final List<String> TARGETS = List.of("example.com:443", "unix:/run/zing dir/admin.sock",
+            "unix:/tmp/a\tb 100%.sock");
+
+    private static int failures = 0;
+
+    private ZingSummaryCheck() {}
+
+    public static void main(final String[] args) throws Exception {
+
+        Path dir = Files.createTempDirectory("zing-summary-check");
+        Path first = dir.resolve("first.zs");
+        Path second = dir.resolve("second.zs");
+
+        try {
+            ZingSummary summary = new ZingSummary();
+            for (String target : TARGETS) {
+                summary.record(target, 1.5d);
+                summary.record(target, 2.5d);
+                summary.record(target, -1.0d);
+            }
+            summary.save(first.toString());
+            summary.save(second.toString());
+
+            Map<String, ZingSummary.Target> loaded = ZingSummary.load(first.toString()).targets();
+            expect("the targets are loaded as saved: " + loaded.keySet(), loaded.keySet().equals(
+                    summary.targets().keySet()));
+            for (String target : TARGETS) {
+                ZingSummary.Target t = loaded.get(target);
+                expect(target + " keeps its counts", t != null && t.count == 2 && t.absent == 1);
+            }
+
+            Map<String, ZingSummary.Target> merged = ZingSummary.merge(List.of(first.toString(), second.toString()), 2)
+                    .targets();
+            expect("the merged targets are those saved: " + merged.keySet(), merged.keySet().equals(
+                    summary.targets().keySet()));
+            for (String target : TARGETS) {
+                ZingSummary.Target t = merged.get(target);
+                expect(target + " merges its counts", t != null && t.count == 4 && t.absent == 2);
+            }
+        } finally {
+            Files.deleteIfExists(first);
+            Files.deleteIfExists(second);
+            Files.deleteIfExists(dir);
+        }
+
+        out.printf("%s%n", failures == 0 ? "ZingSummaryCheck passed" : failures + " ZingSummaryCheck failures");
+        exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void expect(final String what, final boolean ok) {
+        if (!ok) {
+            failures++;
+            out.printf("FAILED: %s%n", what);
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * @(#)ZingTlsCheck.java
+ *
+ * Title: ZingTlsCheck - Zero packet pING TLS handshake loopback check.
+ *
+ * Description: Checks the full and resumed handshake timing of ZingTls against
+ *     a loopback TLS server with a self-signed certificate, trusted as with -k,
+ *     for TLS 1.2 resumed by session id and TLS 1.3 resumed by session ticket,
+ *     and against a server that cannot resume.
+ *
+ * @author William F. Gilreath (will@wfgilreath.xyz)
+ * @version 1.3.0  10/19/26
+ *
+ * Copyright © 2026 All Rights Reserved.
+ *
+ * License: This software is subject to the terms of the GNU General Public License (GPL)
+ *     version 3.0 available at the following link: http://www.gnu.org/copyleft/gpl.html.
+ *
+ * You must accept the terms of the GNU General Public License (GPL) license agreement
+ *     to use this software.
+ *
+ **/
+package xyz.wfgilreath.net;
+
+import static java.lang.System.*;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.util.function.Supplier;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+
+final class ZingTlsCheck {
+
+    private static final char[] PASSWORD = "zingcheck".toCharArray();
+
+    private static int failures = 0;
+
+    private ZingTlsCheck() {}
+
+    public static void main(final String[] args) throws Exception {
+
+        Path dir = Files.createTempDirectory("zing-tls-check");
+        Path keyStoreFile = dir.resolve("check.p12");
+
+        try {
+            KeyStore keyStore = selfSigned(keyStoreFile);
+
+            SSLContext shared = serverContext(keyStore);
+            check("TLSv1.2", () -> shared, true);
+            check("TLSv1.3", () -> shared, true);
+
+            // a new context for each connect has no session of an earlier one to resume
+            check("TLSv1.2", () -> serverContext(keyStore), false);
+            check("TLSv1.3", () -> serverContext(keyStore), false);
+        } finally {
+            Files.deleteIfExists(keyStoreFile);
+            Files.deleteIfExists(dir);
+        }
+
+        out.printf("%s%n", failures == 0 ? "ZingTlsCheck passed" : failures + " ZingTlsCheck failures");
+        exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Zing a loopback server of the protocol with a full and a resumed handshake, and check the resumed one is told
+     * apart when the server resumes and not when it cannot.
+     */
+    private static void check(final String protocol, final Supplier<SSLContext> contexts, final boolean resumes)
+            throws Exception {
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        try (ServerSocket server = new ServerSocket(0, 16, loopback)) {
+
+            Thread acceptor = new Thread(() -> serve(server, contexts, protocol), "zing-tls-check");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            ZingTls tls = new ZingTls(true, 4000, out);
+            String name = protocol + (resumes ? " resuming" : " not resuming");
+
+            for (int x = 0; x < 3; x++) {
+                ZingTls.Handshake full = tls.full(loopback, "localhost", server.getLocalPort());
+                ZingTls.Handshake resumed = tls.resumed(loopback, "localhost", server.getLocalPort());
+
+                expect(name + ": full handshake is not resumed", !full.resumed());
+                expect(name + ": second handshake resumed is " + resumed.resumed(), resumed.resumed() == resumes);
+                expect(name + ": handshake times are measured", full.handshake() > 0.0d && resumed.handshake() > 0.0d);
+            }
+        }
+    }
+
+    /**
+     * Accept connects and complete their handshake, each with the context of the supplier, until the server is
+     * closed.
+     */
+    private static void serve(final ServerSocket server, final Supplier<SSLContext> contexts,
+                              final String protocol) {
+        while (!server.isClosed()) {
+            try (Socket accepted = server.accept();
+                 SSLSocket socket = (SSLSocket) contexts.get().getSocketFactory()
+                         .createSocket(accepted, null, accepted.getPort(), true)) {
+                socket.setUseClientMode(false);
+                socket.setEnabledProtocols(new String[]{protocol});
+                socket.startHandshake();
+                InputStream in = socket.getInputStream();
+                while (in.read() >= 0) {
+                    // read until the client sends close_notify
+                }
+            } catch (IOException e) {
+                // the client closed, or the server is closed after the check
+            }
+        }
+    }
+
+    private static void expect(final String what, final boolean ok) {
+        if (!ok) {
+            failures++;
+            out.printf("FAILED: %s%n", what);
+        }
+    }
+
+    private static SSLContext serverContext(final KeyStore keyStore) {
+        try {
+            KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keys.init(keyStore, PASSWORD);
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keys.getKeyManagers(), null, null);
+            return context;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Create a key store with a self-signed certificate for localhost with the keytool of the running JDK.
+     */
+    private static KeyStore selfSigned(final Path keyStoreFile) throws Exception {
+
+        String keytool = Paths.get(getProperty("java.home"), "bin", "keytool").toString();
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "zing", "-keyalg", "EC",
+                "-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1", "-validity", "1",
+                "-storetype", "PKCS12", "-keystore", keyStoreFile.toString(),
+                "-storepass", new String(PASSWORD), "-keypass", new String(PASSWORD))
+                .redirectErrorStream(true).start();
+        process.getInputStream().transferTo(OutputStream.nullOutputStream());
+        if (process.waitFor() != 0) throw new IOException("keytool failed");
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = new FileInputStream(keyStoreFile.toFile())) {
+            keyStore.load(in, PASSWORD);
+        }
+        return keyStore;
+    }
+
+}
@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+#
+# Compile zing and run each loopback check in this directory, the checks need
+# JDK 17 or later and exit non-zero on a failure.
+#
+# Copyright (C) 2026 William F. Gilreath <will@wfgilreath.xyz>
+#
+# This file is part of zing <https://github.com/wgilreath/zing/>.
+#
+# Zing is free software: you can redistribute it and/or modify
+# it under the terms of the GNU General Public License as published by
+# the Free Software Foundation, either version 3 of the License, or
+# (at your option) any later version.
+#
+# Zing is distributed in the hope that it will be useful,
+# but WITHOUT ANY WARRANTY; without even the implied warranty of
+# MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+# See the GNU General Public License for more details.
+#
+# You should have received a copy of the GNU General Public License
+# along with zing.  If not, see <http://www.gnu.org/licenses/>.
+#
+
+dir="$(cd "$(dirname "$0")" && pwd)"
+classes="$(mktemp -d)"
+trap 'rm -rf "$classes"' EXIT
+
+javac -Xlint:all,-strictfp -encoding UTF-8 -d "$classes" "$dir"/../src/*.java "$dir"/*.java || exit 1
+
+status=0
+for check in "$dir"/*Check.java; do
+    name="$(basename "$check" .java)"
+    java -cp "$classes" "xyz.wfgilreath.net.$name" || status=1
+done
+
+exit $status